@@ -0,0 +1,63 @@
+package com.siziksu.acv;
+
+import android.view.Choreographer;
+
+import com.siziksu.acv.engine.FrameClock;
+
+public final class AnimationClock implements Choreographer.FrameCallback {
+
+    private static AnimationClock instance;
+
+    private final FrameClock clock = new FrameClock();
+    private boolean frameScheduled;
+
+    private AnimationClock() {
+    }
+
+    public static AnimationClock getInstance() {
+        if (instance == null) {
+            instance = new AnimationClock();
+        }
+        return instance;
+    }
+
+    void register(FrameClock.Client client) {
+        clock.register(client);
+        scheduleFrame();
+    }
+
+    void unregister(FrameClock.Client client) {
+        clock.unregister(client);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        frameScheduled = false;
+        if (clock.doFrame(frameTimeNanos)) {
+            scheduleFrame();
+        }
+    }
+
+    public int getViewCount() {
+        return clock.getClientCount();
+    }
+
+    public long getFrameCount() {
+        return clock.getFrameCount();
+    }
+
+    public long getInvalidationCount() {
+        return clock.getInvalidationCount();
+    }
+
+    public void resetCounters() {
+        clock.resetCounters();
+    }
+
+    private void scheduleFrame() {
+        if (!frameScheduled) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+}
@@ -1,82 +1,97 @@
 package com.siziksu.acv;
 
-import android.animation.Animator;
-import android.animation.AnimatorSet;
-import android.animation.ValueAnimator;
+import android.animation.TimeAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.Typeface;
+import android.graphics.drawable.Animatable;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.text.TextPaint;
 import android.util.AttributeSet;
 import android.view.View;
-import android.view.animation.AccelerateDecelerateInterpolator;
-import android.view.animation.LinearInterpolator;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.siziksu.acv.engine.AnimationMetrics;
+import com.siziksu.acv.engine.DigitBuffer;
+import com.siziksu.acv.engine.DigitRoll;
+import com.siziksu.acv.engine.Frame;
+import com.siziksu.acv.engine.FrameCanvas;
+import com.siziksu.acv.engine.FrameClock;
+import com.siziksu.acv.engine.FrameDrawer;
+import com.siziksu.acv.engine.FrameEngine;
+import com.siziksu.acv.engine.FramePaints;
+import com.siziksu.acv.engine.FramePresenter;
 
 public class CustomView extends View {
 
-    private boolean pointsAlreadyReceived;
+    private final FramePresenter presenter = new FramePresenter(new PresenterHost());
+    private final FrameEngine engine = presenter.getEngine();
+    private final float[] frame = presenter.getFrame();
+
+    private static final Typeface TEXT_TYPEFACE = Typeface.create(Typeface.DEFAULT, Typeface.NORMAL);
+    private static final float SPINNER_VIEWPORT_SCALE = 50f / 45f;
+    private static final Handler MAIN_THREAD = new Handler(Looper.getMainLooper());
+
+    private TimeAnimator timeAnimator;
+    private boolean attached;
+    private boolean pauseWithoutFocus;
+
+    private onAnimationEndListener animationEndListener;
+    private long clockBase;
+    private boolean sharedClock;
+    private long sharedClockStartNanos;
+    private final FrameClock.Client clockClient = this::onClockFrame;
+
+    private final Runnable consumeMailbox = presenter::consumeMailbox;
+
+    private final ResultBitmapCache.Key resultKey = new ResultBitmapCache.Key();
+    private Canvas resultCanvas;
+
+    private boolean renderThreadSpinner;
+    private Drawable spinnerDrawable;
 
     private Paint progressPaint;
-    private RectF progressBounds;
+    private final RectF progressBounds = new RectF();
     private int progressWidth = 20;
     private int progressColor = 0xFFFFFFFF;
-    private float progressValue;
-    private ValueAnimator progressAnimation;
     private int progressDuration = 1800;
-    private boolean secondStep;
 
     private int scaleDuration = 200;
     private float scaleValue = 1f;
 
     private Paint primaryPaint;
-    private RectF primaryBounds;
+    private final RectF primaryBounds = new RectF();
     private Paint secondaryPaint;
-    private RectF secondaryBounds;
+    private final RectF secondaryBounds = new RectF();
 
     private int primaryColor = 0x00000000;
     private int secondaryColor = 0x00000000;
-    private int layoutWidth;
-    private int layoutHeight;
-    private int horizontalCompensation = 0;
-    private int verticalCompensation = 0;
     private int circlePercentSeparation = 100;
 
-    private RectF mainBounds;
-    private int radius;
-    private int diameter;
-    private int primaryCenterX;
-    private int primaryCenterY;
-    private int secondaryCenterX;
-    private int secondaryCenterY;
-
-    private int points;
-    private int extras;
-    private int total;
+    private final Rect dirtyBounds = new Rect();
+
+    private final DigitBuffer totalDigits = presenter.getTotalDigits();
+    private final DigitBuffer extrasDigits = presenter.getExtrasDigits();
+    private final Paint glyphPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Rect glyphSource = new Rect();
+    private final RectF glyphTarget = new RectF();
     private int primaryTextColor = 0xFFFFFFFF;
     private int secondaryTextColor = 0xFFFFFFFF;
-    private float normalTextSize;
-    private TextPaint primaryTextPaint = new TextPaint();
-    private TextPaint secondaryTextPaint = new TextPaint();
-    private int primaryTextHeight;
-    private int secondaryTextHeight;
-
-    private String pointsText = "POINTS";
-    private String plusText = "PLUS";
-    private String extraText = "EXTRA";
-    private TextPaint mediumTextPaint = new TextPaint();
-    private TextPaint smallTextPaint = new TextPaint();
-    private float mediumTextSize;
-    private float smallTextSize;
-    private int mediumTextHeight;
-    private int smallTextHeight;
-    private int scaleOffsetCompensation;
+    private TextPaint primaryTextPaint;
+    private TextPaint secondaryTextPaint;
+
+    private TextPaint mediumTextPaint;
+    private TextPaint smallTextPaint;
+
+    private final CanvasAdapter canvasAdapter = new CanvasAdapter();
 
     public CustomView(Context context) {
         super(context);
@@ -105,57 +120,56 @@ public class CustomView extends View {
         secondaryColor = attributes.getColor(R.styleable.CustomView_secondaryColor, secondaryColor);
         primaryTextColor = attributes.getColor(R.styleable.CustomView_primaryTextColor, primaryTextColor);
         secondaryTextColor = attributes.getColor(R.styleable.CustomView_secondaryTextColor, secondaryTextColor);
+        sharedClock = attributes.getBoolean(R.styleable.CustomView_sharedClock, sharedClock);
+        renderThreadSpinner = attributes.getBoolean(R.styleable.CustomView_renderThreadSpinner, renderThreadSpinner);
+        pauseWithoutFocus = attributes.getBoolean(R.styleable.CustomView_pauseWithoutFocus, pauseWithoutFocus);
+        boolean resultCache = attributes.getBoolean(R.styleable.CustomView_resultCache, false);
+        int maxFrameRate = attributes.getInt(R.styleable.CustomView_maxFrameRate, 0);
+        boolean adaptiveQuality = attributes.getBoolean(R.styleable.CustomView_adaptiveQuality, false);
+        boolean digitRoll = attributes.getBoolean(R.styleable.CustomView_digitRoll, false);
+        int keyframeRate = attributes.getInt(R.styleable.CustomView_keyframeRate, 0);
         attributes.recycle();
+        engine.setProgressWidth(progressWidth);
+        engine.setProgressDuration(progressDuration);
+        engine.setCirclePercentSeparation(circlePercentSeparation);
+        engine.setScaleValue(scaleValue);
+        engine.setScaleDuration(scaleDuration);
+        engine.setKeyframeRate(keyframeRate);
+        presenter.setPaints(canvasAdapter);
+        presenter.setResultCacheEnabled(resultCache);
+        presenter.setMaxFrameRate(maxFrameRate);
+        presenter.setAdaptiveQualityEnabled(adaptiveQuality);
+        presenter.setDigitRollEnabled(digitRoll);
     }
 
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        layoutWidth = w - this.getPaddingLeft() - this.getPaddingRight();
-        layoutHeight = h - this.getPaddingTop() - this.getPaddingBottom();
-        setUpBounds();
-        setUpPaints();
+        presenter.invalidateLayout();
+    }
+
+    private void setUpLayout() {
+        boolean metricsEnabled = FramePresenter.isMetricsEnabled();
+        long start = metricsEnabled ? System.nanoTime() : 0;
+        if (progressPaint == null) {
+            setUpPaints();
+        }
+        presenter.setSize(getWidth(), getHeight(), getPaddingLeft(), getPaddingTop(), getPaddingRight(), getPaddingBottom());
         setUpTextBounds();
-        progressValueAnimation();
-    }
-
-    private void setUpBounds() {
-        calculateCompensations();
-        int left = (horizontalCompensation / 2) + (progressWidth / 2) + this.getPaddingLeft() + this.getPaddingRight();
-        int top = (verticalCompensation / 2) + (progressWidth / 2) + this.getPaddingTop() + this.getPaddingBottom();
-        int right = (layoutWidth - (horizontalCompensation / 2)) - (progressWidth / 2);
-        int bottom = (layoutHeight - (verticalCompensation / 2)) - (progressWidth / 2);
-        progressBounds = new RectF(left, top, right, bottom);
-        left -= progressWidth / 2;
-        top -= progressWidth / 2;
-        right += progressWidth / 2;
-        bottom += progressWidth / 2;
-        mainBounds = new RectF(left, top, right, bottom);
-        primaryBounds = new RectF(mainBounds);
-        secondaryBounds = new RectF(mainBounds);
-        diameter = right - left;
-        radius = diameter / 2;
-        primaryCenterX = (int) mainBounds.centerX();
-        primaryCenterY = (int) mainBounds.centerY();
-        secondaryCenterX = (int) mainBounds.centerX();
-        secondaryCenterY = (int) mainBounds.centerY();
-        normalTextSize = diameter * 30 / 100;
-        mediumTextSize = normalTextSize / 2.5f;
-        smallTextSize = normalTextSize / 3f;
-    }
-
-    private void calculateCompensations() {
-        if (layoutWidth != layoutHeight) {
-            if (layoutWidth > layoutHeight) {
-                horizontalCompensation = layoutWidth - layoutHeight;
-            }
-            if (layoutHeight > layoutWidth) {
-                verticalCompensation = layoutHeight - layoutWidth;
-            }
+        presenter.layout();
+        setUpSpinner();
+        presenter.play();
+        if (metricsEnabled) {
+            presenter.recordLayout(System.nanoTime() - start);
         }
     }
 
     private void setUpPaints() {
+        primaryTextPaint = new TextPaint();
+        secondaryTextPaint = new TextPaint();
+        mediumTextPaint = new TextPaint();
+        smallTextPaint = new TextPaint();
+
         progressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         progressPaint.setStyle(Paint.Style.STROKE);
         progressPaint.setColor(progressColor);
@@ -172,288 +186,503 @@ public class CustomView extends View {
         primaryTextPaint.setFlags(Paint.ANTI_ALIAS_FLAG);
         primaryTextPaint.setAntiAlias(true);
         primaryTextPaint.setColor(primaryTextColor);
-        primaryTextPaint.setTextSize(normalTextSize);
-
-        int textStyle = Typeface.NORMAL;
-
-        primaryTextPaint.setTypeface(Typeface.create(Typeface.DEFAULT, textStyle));
+        primaryTextPaint.setTypeface(TEXT_TYPEFACE);
         primaryTextPaint.setTextAlign(Paint.Align.CENTER);
         primaryTextPaint.setAlpha(0);
 
         secondaryTextPaint.setFlags(Paint.ANTI_ALIAS_FLAG);
         secondaryTextPaint.setAntiAlias(true);
         secondaryTextPaint.setColor(secondaryTextColor);
-        secondaryTextPaint.setTextSize(normalTextSize);
-        secondaryTextPaint.setTypeface(Typeface.create(Typeface.DEFAULT, textStyle));
+        secondaryTextPaint.setTypeface(TEXT_TYPEFACE);
         secondaryTextPaint.setTextAlign(Paint.Align.CENTER);
         secondaryTextPaint.setAlpha(0);
 
         mediumTextPaint.setFlags(Paint.ANTI_ALIAS_FLAG);
         mediumTextPaint.setAntiAlias(true);
         mediumTextPaint.setColor(primaryTextColor);
-        mediumTextPaint.setTextSize(mediumTextSize);
-        mediumTextPaint.setTypeface(Typeface.create(Typeface.DEFAULT, textStyle));
+        mediumTextPaint.setTypeface(TEXT_TYPEFACE);
         mediumTextPaint.setTextAlign(Paint.Align.CENTER);
         mediumTextPaint.setAlpha(0);
 
         smallTextPaint.setFlags(Paint.ANTI_ALIAS_FLAG);
         smallTextPaint.setAntiAlias(true);
         smallTextPaint.setColor(secondaryTextColor);
-        smallTextPaint.setTextSize(smallTextSize);
-        smallTextPaint.setTypeface(Typeface.create(Typeface.DEFAULT, textStyle));
+        smallTextPaint.setTypeface(TEXT_TYPEFACE);
         smallTextPaint.setTextAlign(Paint.Align.CENTER);
         smallTextPaint.setAlpha(0);
     }
 
     private void setUpTextBounds() {
-        Rect bounds = new Rect();
-        primaryTextPaint.getTextBounds(String.valueOf(total), 0, String.valueOf(total).length(), bounds);
-        primaryTextHeight = bounds.height();
-        secondaryTextPaint.getTextBounds(String.valueOf(extras), 0, String.valueOf(extras).length(), bounds);
-        secondaryTextHeight = bounds.height();
-        mediumTextPaint.getTextBounds(pointsText, 0, pointsText.length(), bounds);
-        mediumTextHeight = bounds.height();
-        smallTextPaint.getTextBounds(plusText, 0, plusText.length(), bounds);
-        smallTextHeight = bounds.height();
+        TextMetricsCache cache = TextMetricsCache.getInstance();
+        int primaryTextHeight = cache.get(primaryTextPaint, totalDigits.getChars(), totalDigits.getStart(), totalDigits.getLength()).getBoundsHeight();
+        int secondaryTextHeight = cache.get(secondaryTextPaint, extrasDigits.getChars(), extrasDigits.getStart(), extrasDigits.getLength()).getBoundsHeight();
+        int mediumTextHeight = cache.get(mediumTextPaint, FrameDrawer.POINTS_TEXT).getBoundsHeight();
+        int smallTextHeight = cache.get(smallTextPaint, FrameDrawer.PLUS_TEXT).getBoundsHeight();
+        presenter.setTextHeights(primaryTextHeight, secondaryTextHeight, mediumTextHeight, smallTextHeight);
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
-        float startAngle;
-        float sweepAngle;
-        if (progressValue > 360) {
-            startAngle = (((progressValue - 360) * 0.5f) + 90);
-            startAngle = startAngle > 360 ? startAngle - 360 : startAngle;
-            sweepAngle = ((360 - (progressValue - 360)));
-        } else {
-            startAngle = ((progressValue * 0.5f) - 90);
-            sweepAngle = progressValue;
+        if (presenter.isLayoutDirty()) {
+            setUpLayout();
+        }
+        boolean metricsEnabled = FramePresenter.isMetricsEnabled();
+        long start = metricsEnabled ? System.nanoTime() : 0;
+        drawFrame(canvas);
+        if (metricsEnabled) {
+            presenter.recordDraw(System.nanoTime() - start);
+        }
+    }
+
+    private void drawFrame(Canvas canvas) {
+        canvasAdapter.canvas = canvas;
+        if (spinnerDrawable != null && !presenter.isResultSettled()) {
+            spinnerDrawable.draw(canvas);
         }
-        canvas.drawArc(progressBounds, startAngle, sweepAngle, false, progressPaint);
-        if (secondStep) {
-            canvas.drawArc(secondaryBounds, 0, 360, false, secondaryPaint);
-            canvas.drawText(String.valueOf(extras), getSecondaryPositionX(), getExtraPointsPositionY(), secondaryTextPaint);
-            canvas.drawText(plusText, getSecondaryPositionX(), getPlusTextPositionY(), smallTextPaint);
-            canvas.drawText(extraText, getSecondaryPositionX(), getExtraTextPositionY(), smallTextPaint);
-            canvas.drawText(pointsText, getSecondaryPositionX(), getPointsExtraTextPositionY(), smallTextPaint);
-            canvas.drawArc(primaryBounds, 0, 360, false, primaryPaint);
-            canvas.drawText(String.valueOf(total), getPrimaryPositionX(), getTotalPointsPositionY(), primaryTextPaint);
-            canvas.drawText(pointsText, getPrimaryPositionX(), getPointsTextPositionY(), mediumTextPaint);
+        presenter.draw(canvasAdapter);
+        canvasAdapter.canvas = null;
+    }
+
+    private Bitmap getResultBitmap() {
+        int width = getWidth();
+        int height = getHeight();
+        ResultBitmapCache cache = ResultBitmapCache.getInstance();
+        if (!cache.fits(width, height)) {
+            return null;
+        }
+        resultKey.width = width;
+        resultKey.height = height;
+        resultKey.left = (int) engine.getMainLeft();
+        resultKey.top = (int) engine.getMainTop();
+        resultKey.diameter = engine.getDiameter();
+        resultKey.primaryColor = primaryColor;
+        resultKey.secondaryColor = secondaryColor;
+        resultKey.primaryTextColor = primaryTextColor;
+        resultKey.secondaryTextColor = secondaryTextColor;
+        resultKey.total = totalDigits.getValue();
+        resultKey.extras = extrasDigits.getValue();
+        Bitmap result = cache.get(resultKey);
+        if (result == null) {
+            result = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            if (resultCanvas == null) {
+                resultCanvas = new Canvas();
+            }
+            resultCanvas.setBitmap(result);
+            Canvas target = canvasAdapter.canvas;
+            canvasAdapter.canvas = resultCanvas;
+            presenter.drawResult(canvasAdapter);
+            canvasAdapter.canvas = target;
+            resultCanvas.setBitmap(null);
+            cache.put(resultKey, result);
         }
+        return result;
     }
 
-    private int getPrimaryPositionX() {
-        return primaryCenterX;
+    private void setUpSpinner() {
+        if (!canUseRenderThreadSpinner()) {
+            releaseSpinner();
+            return;
+        }
+        if (spinnerDrawable == null) {
+            spinnerDrawable = getContext().getDrawable(R.drawable.spinner_arc_animated).mutate();
+            spinnerDrawable.setTint(progressColor);
+            spinnerDrawable.setCallback(this);
+            if (presenter.startExternalSpinner()) {
+                startSpinner();
+            }
+        }
+        float centerX = (frame[Frame.PROGRESS_LEFT] + frame[Frame.PROGRESS_RIGHT]) / 2;
+        float centerY = (frame[Frame.PROGRESS_TOP] + frame[Frame.PROGRESS_BOTTOM]) / 2;
+        float half = (frame[Frame.PROGRESS_RIGHT] - frame[Frame.PROGRESS_LEFT]) / 2 * SPINNER_VIEWPORT_SCALE;
+        spinnerDrawable.setBounds(
+                Math.round(centerX - half),
+                Math.round(centerY - half),
+                Math.round(centerX + half),
+                Math.round(centerY + half)
+        );
     }
 
-    private int getSecondaryPositionX() {
-        return secondaryCenterX;
+    private boolean canUseRenderThreadSpinner() {
+        return renderThreadSpinner
+                && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N_MR1
+                && isHardwareAccelerated()
+                && progressDuration == getResources().getInteger(R.integer.spinner_duration);
     }
 
-    private int getTotalPointsPositionY() {
-        return primaryCenterY + primaryTextHeight / 3 + scaleOffsetCompensation;
+    private void startSpinner() {
+        spinnerDrawable.setAlpha(255);
+        ((Animatable) spinnerDrawable).start();
     }
 
-    private int getPointsTextPositionY() {
-        return primaryCenterY + primaryTextHeight + scaleOffsetCompensation;
+    private void fadeSpinner(int alpha) {
+        Animatable spinner = (Animatable) spinnerDrawable;
+        if (alpha > 0) {
+            spinnerDrawable.setAlpha(alpha);
+        } else if (spinner.isRunning()) {
+            spinnerDrawable.setAlpha(0);
+            spinner.stop();
+        }
     }
 
-    private float getExtraPointsPositionY() {
-        return secondaryCenterY + secondaryTextHeight / 3;
+    private void releaseSpinner() {
+        if (spinnerDrawable == null) {
+            return;
+        }
+        presenter.stopExternalSpinner();
+        ((Animatable) spinnerDrawable).stop();
+        spinnerDrawable.setCallback(null);
+        spinnerDrawable = null;
     }
 
-    private float getPlusTextPositionY() {
-        return secondaryCenterY - secondaryTextHeight / 2 - smallTextHeight * 1.5f;
+    @Override
+    protected boolean verifyDrawable(Drawable who) {
+        return who == spinnerDrawable || super.verifyDrawable(who);
     }
 
-    private float getExtraTextPositionY() {
-        return secondaryCenterY + secondaryTextHeight / 2 + smallTextHeight * 1.5f;
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        attached = true;
+        presenter.updateSuspension();
     }
 
-    private float getPointsExtraTextPositionY() {
-        return secondaryCenterY + secondaryTextHeight / 2 + smallTextHeight * 3f;
+    @Override
+    protected void onDetachedFromWindow() {
+        attached = false;
+        presenter.updateSuspension();
+        super.onDetachedFromWindow();
     }
 
-    private void progressValueAnimation() {
-        progressAnimation = ValueAnimator.ofFloat(0, 720);
-        progressAnimation.setDuration(progressDuration);
-        progressAnimation.setRepeatCount(ValueAnimator.INFINITE);
-        progressAnimation.setRepeatMode(ValueAnimator.RESTART);
-        progressAnimation.setInterpolator(new AccelerateDecelerateInterpolator());
-        progressAnimation.addUpdateListener(valueAnimator -> {
-            progressValue = (float) valueAnimator.getAnimatedValue();
-            invalidate();
-        });
-        progressAnimation.start();
-    }
-
-    private void alphaAnimation(boolean withExtras) {
-        ValueAnimator alphaAnimation = ValueAnimator.ofInt(0, 255);
-        alphaAnimation.setDuration(800);
-        alphaAnimation.setInterpolator(new LinearInterpolator());
-        alphaAnimation.addUpdateListener(valueAnimator -> {
-            int value = (int) valueAnimator.getAnimatedValue();
-            primaryPaint.setAlpha(value);
-            secondaryPaint.setAlpha(value);
-            progressPaint.setAlpha(255 - value);
-            invalidate();
-        });
-        alphaAnimation.addListener(new AnimationListener(() -> {
-            AnimatorSet animation = new AnimatorSet();
-            List<Animator> list = new ArrayList<>();
-            ValueAnimator nextAlphaAnimation = ValueAnimator.ofInt(0, 255);
-            nextAlphaAnimation.setDuration(800);
-            nextAlphaAnimation.setInterpolator(new LinearInterpolator());
-            nextAlphaAnimation.addUpdateListener(valueAnimator -> {
-                int value = (int) valueAnimator.getAnimatedValue();
-                primaryTextPaint.setAlpha(value);
-                secondaryTextPaint.setAlpha(value);
-                mediumTextPaint.setAlpha(value);
-                smallTextPaint.setAlpha(value);
-                invalidate();
-            });
-            ValueAnimator translation = ValueAnimator.ofInt(primaryTextHeight * 2, 0);
-            nextAlphaAnimation.setDuration(800);
-            translation.setInterpolator(new LinearInterpolator());
-            translation.addUpdateListener(valueAnimator -> {
-                scaleOffsetCompensation = (int) valueAnimator.getAnimatedValue();
-                invalidate();
-            });
-            list.add(nextAlphaAnimation);
-            list.add(translation);
-            animation.playTogether(list);
-            animation.addListener(new AnimationListener(() -> {
-                if (withExtras) {
-                    animations();
-                }
-            }));
-            animation.start();
-        }));
-        alphaAnimation.start();
-    }
-
-    private void animations() {
-        AnimatorSet animation = new AnimatorSet();
-        List<Animator> list = new ArrayList<>();
-        int left = (int) mainBounds.left;
-        int right = (int) mainBounds.right;
-        ValueAnimator firstTranslation = ValueAnimator.ofInt(left, left - (radius * circlePercentSeparation / 100));
-        firstTranslation.setInterpolator(new LinearInterpolator());
-        firstTranslation.addUpdateListener(valueAnimator -> {
-            int value = (int) valueAnimator.getAnimatedValue();
-            int increment = left - value;
-            primaryBounds.set(value, primaryBounds.top, value + diameter, primaryBounds.bottom);
-            secondaryBounds.set(left + increment, secondaryBounds.top, right + increment, secondaryBounds.bottom);
-            primaryCenterX = (int) primaryBounds.centerX();
-            primaryCenterY = (int) primaryBounds.centerY();
-            secondaryCenterX = (int) secondaryBounds.centerX();
-            secondaryCenterY = (int) secondaryBounds.centerY();
-            invalidate();
-        });
-        ValueAnimator secondTranslation = ValueAnimator.ofInt(left - (radius * circlePercentSeparation / 100), left);
-        secondTranslation.setStartDelay(1500);
-        secondTranslation.setInterpolator(new LinearInterpolator());
-        secondTranslation.addUpdateListener(valueAnimator -> {
-            int value = (int) valueAnimator.getAnimatedValue();
-            int increment = left - value;
-            primaryBounds.set(value, primaryBounds.top, value + diameter, primaryBounds.bottom);
-            secondaryBounds.set(left + increment, secondaryBounds.top, right + increment, secondaryBounds.bottom);
-            primaryCenterX = (int) primaryBounds.centerX();
-            primaryCenterY = (int) primaryBounds.centerY();
-            secondaryCenterX = (int) secondaryBounds.centerX();
-            secondaryCenterY = (int) secondaryBounds.centerY();
-            invalidate();
-        });
-        secondTranslation.addListener(new AnimationListener(() -> total = points + extras));
-        ValueAnimator scale = ValueAnimator.ofFloat(1.0f, scaleValue);
-        scale.setInterpolator(new LinearInterpolator());
-        scale.setDuration(scaleDuration);
-        scale.setRepeatCount(1);
-        scale.setRepeatMode(ValueAnimator.REVERSE);
-        scale.addUpdateListener(valueAnimator -> {
-            float scaleFactor = (float) valueAnimator.getAnimatedValue();
-            float factor = (diameter * scaleFactor) - diameter;
-            float newRight = mainBounds.right + factor;
-            float newBottom = mainBounds.bottom + factor;
-            float newLeft = mainBounds.left;
-            float newTop = mainBounds.top;
-            primaryBounds.set(newLeft, newTop, newRight, newBottom);
-            int offsetH = (int) (mainBounds.width() - primaryBounds.width()) / 2;
-            int offsetV = (int) (mainBounds.height() - primaryBounds.height()) / 2;
-            primaryBounds.offset(offsetH, offsetV);
-            primaryCenterX = (int) primaryBounds.centerX();
-            primaryCenterY = (int) primaryBounds.centerY();
-            secondaryCenterX = (int) secondaryBounds.centerX();
-            secondaryCenterY = (int) secondaryBounds.centerY();
-            primaryTextPaint.setTextSize(normalTextSize * scaleFactor);
-            mediumTextPaint.setTextSize(mediumTextSize * scaleFactor);
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        if (presenter == null) {
+            return;
+        }
+        presenter.updateSuspension();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        presenter.updateSuspension();
+    }
+
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+        presenter.updateSuspension();
+    }
+
+    public static void setMetricsEnabled(boolean enabled) {
+        FramePresenter.setMetricsEnabled(enabled);
+    }
+
+    public static AnimationMetrics getAggregateMetrics() {
+        return FramePresenter.getAggregateMetrics();
+    }
+
+    public AnimationMetrics getMetrics() {
+        return presenter.getMetrics();
+    }
+
+    public void setMetricsListener(AnimationMetrics.Listener listener) {
+        presenter.setMetricsListener(listener);
+    }
+
+    public void setOnAnimationEndListener(onAnimationEndListener listener) {
+        animationEndListener = listener;
+    }
+
+    public static int getRunningTimelineCount() {
+        return FramePresenter.getRunningTimelineCount();
+    }
+
+    public static long getTotalFramesSaved() {
+        return FramePresenter.getTotalFramesSaved();
+    }
+
+    public long getFramesSaved() {
+        return presenter.getFramesSaved();
+    }
+
+    private boolean canAnimate() {
+        return attached && isShown() && getWindowVisibility() == VISIBLE && (!pauseWithoutFocus || hasWindowFocus());
+    }
+
+    public void reset() {
+        presenter.reset();
+        if (spinnerDrawable != null && presenter.isSetUp()) {
+            ((Animatable) spinnerDrawable).stop();
+            startSpinner();
+        }
+    }
+
+    public void setPauseWithoutFocusEnabled(boolean enabled) {
+        pauseWithoutFocus = enabled;
+        presenter.updateSuspension();
+    }
+
+    public void setSharedClockEnabled(boolean enabled) {
+        if (sharedClock == enabled) {
+            return;
+        }
+        boolean running = presenter.isTimelineRunning();
+        presenter.stopTimeline();
+        sharedClock = enabled;
+        if (running) {
+            presenter.startTimeline();
+        }
+    }
+
+    public void setRenderThreadSpinnerEnabled(boolean enabled) {
+        if (renderThreadSpinner == enabled) {
+            return;
+        }
+        renderThreadSpinner = enabled;
+        if (!presenter.isSetUp()) {
+            return;
+        }
+        setUpSpinner();
+        presenter.play();
+        invalidate();
+    }
+
+    public boolean isRenderThreadSpinnerActive() {
+        return spinnerDrawable != null;
+    }
+
+    public void setMaxFrameRate(int framesPerSecond) {
+        presenter.setMaxFrameRate(framesPerSecond);
+    }
+
+    public int getMaxFrameRate() {
+        return presenter.getMaxFrameRate();
+    }
+
+    public void setAdaptiveQualityEnabled(boolean enabled) {
+        presenter.setAdaptiveQualityEnabled(enabled);
+    }
+
+    public int getQualityLevel() {
+        return presenter.getQualityLevel();
+    }
+
+    public void setDigitRollEnabled(boolean enabled) {
+        presenter.setDigitRollEnabled(enabled);
+    }
+
+    public void setKeyframeRate(int framesPerSecond) {
+        engine.setKeyframeRate(framesPerSecond);
+    }
+
+    public void setResultCacheEnabled(boolean enabled) {
+        presenter.setResultCacheEnabled(enabled);
+    }
+
+    private boolean onClockFrame(long frameTimeNanos) {
+        if (sharedClockStartNanos < 0) {
+            sharedClockStartNanos = frameTimeNanos;
+        }
+        return presenter.onFrame(clockBase + (frameTimeNanos - sharedClockStartNanos) / 1_000_000L);
+    }
+
+    private void drawDigitRoll(Canvas canvas, DigitRoll digitRoll, float x, float y) {
+        GlyphAtlas.Strip strip = GlyphAtlas.getInstance().get(TEXT_TYPEFACE, engine.getNormalTextSize(), primaryTextColor);
+        int columns = digitRoll.getColumnCount();
+        float textScale = presenter.getTextScale();
+        float cellWidth = strip.getCellWidth() * textScale;
+        float cellHeight = strip.getCellHeight() * textScale;
+        float left = x - columns * cellWidth / 2;
+        float top = y - strip.getBaseline() * textScale;
+        glyphPaint.setAlpha(primaryTextPaint.getAlpha());
+        for (int i = 0; i < columns; i++) {
+            int sourceTop = Math.round(digitRoll.getPosition(columns - 1 - i) * strip.getCellHeight());
+            glyphSource.set(0, sourceTop, strip.getCellWidth(), sourceTop + strip.getCellHeight());
+            glyphTarget.set(left + i * cellWidth, top, left + (i + 1) * cellWidth, top + cellHeight);
+            canvas.drawBitmap(strip.getBitmap(), glyphSource, glyphTarget, glyphPaint);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void invalidateFrame(int left, int top, int right, int bottom) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP && isHardwareAccelerated()) {
             invalidate();
-        });
-        list.add(firstTranslation);
-        list.add(secondTranslation);
-        list.add(scale);
-        animation.playSequentially(list);
-        animation.start();
+            return;
+        }
+        dirtyBounds.set(left, top, right, bottom);
+        invalidate(dirtyBounds);
     }
 
-    public void onPointsReceived(int points) {
-        if (pointsAlreadyReceived) {
+    private void startClock(long clockTime) {
+        clockBase = clockTime;
+        if (sharedClock) {
+            sharedClockStartNanos = -1;
+            AnimationClock.getInstance().register(clockClient);
             return;
         }
-        this.points = points;
-        total = points;
-        stopInfiniteProgress();
-        secondStep = true;
-        alphaAnimation(false);
-        pointsAlreadyReceived = true;
+        if (timeAnimator == null) {
+            timeAnimator = new TimeAnimator();
+            timeAnimator.setTimeListener((animation, totalTime, deltaTime) -> presenter.onFrame(clockBase + totalTime));
+        }
+        timeAnimator.start();
+    }
+
+    private void stopClock() {
+        AnimationClock.getInstance().unregister(clockClient);
+        if (timeAnimator != null) {
+            timeAnimator.cancel();
+        }
+    }
+
+    public void onPointsReceived(int points) {
+        presenter.onPointsReceived(points);
     }
 
     public void onPointsReceived(int points, int extras) {
-        if (pointsAlreadyReceived) {
-            return;
+        presenter.onPointsReceived(points, extras);
+    }
+
+    public void updatePoints(int points) {
+        updatePoints(points, 0);
+    }
+
+    public void updatePoints(int points, int extras) {
+        presenter.updatePoints(points, extras);
+    }
+
+    public void postPoints(int points, int extras) {
+        if (presenter.postPoints(points, extras)) {
+            MAIN_THREAD.post(consumeMailbox);
+        }
+    }
+
+    public void postPointsDelta(int pointsDelta, int extrasDelta) {
+        if (presenter.postPointsDelta(pointsDelta, extrasDelta)) {
+            MAIN_THREAD.post(consumeMailbox);
         }
-        this.points = points;
-        this.extras = extras;
-        total = points;
-        stopInfiniteProgress();
-        secondStep = true;
-        alphaAnimation(true);
-        pointsAlreadyReceived = true;
     }
 
-    private void stopInfiniteProgress() {
-        progressAnimation.setRepeatCount(0);
-        progressAnimation.setRepeatMode(ValueAnimator.RESTART);
+    private final class PresenterHost implements FramePresenter.Host {
+
+        @Override
+        public boolean canAnimate() {
+            return CustomView.this.canAnimate();
+        }
+
+        @Override
+        public boolean isShown() {
+            return CustomView.this.isShown();
+        }
+
+        @Override
+        public void startTimeline(long clockTime) {
+            startClock(clockTime);
+        }
+
+        @Override
+        public void stopTimeline() {
+            stopClock();
+        }
+
+        @Override
+        public void invalidate() {
+            CustomView.this.invalidate();
+        }
+
+        @Override
+        public void invalidate(int left, int top, int right, int bottom) {
+            invalidateFrame(left, top, right, bottom);
+        }
+
+        @Override
+        public void fadeSpinner(int alpha) {
+            if (spinnerDrawable != null) {
+                CustomView.this.fadeSpinner(alpha);
+            }
+        }
+
+        @Override
+        public void onAnimationEnd() {
+            if (animationEndListener != null) {
+                animationEndListener.onAnimationEnd();
+            }
+        }
+
+        @Override
+        public long uptimeMillis() {
+            return SystemClock.uptimeMillis();
+        }
     }
 
-    private class AnimationListener implements Animator.AnimatorListener {
+    private final class CanvasAdapter implements FrameCanvas, FramePaints {
 
-        private onAnimationEndListener listener;
+        private Canvas canvas;
 
-        AnimationListener(onAnimationEndListener listener) {
-            this.listener = listener;
+        @Override
+        public void drawArc(int paint, float left, float top, float right, float bottom, float startAngle, float sweepAngle) {
+            RectF bounds = paint == PROGRESS ? progressBounds : paint == PRIMARY_CIRCLE ? primaryBounds : secondaryBounds;
+            bounds.set(left, top, right, bottom);
+            canvas.drawArc(bounds, startAngle, sweepAngle, false, getPaint(paint));
         }
 
         @Override
-        public void onAnimationStart(Animator animation) {
+        public void drawText(int paint, char[] text, int start, int length, float x, float y) {
+            canvas.drawText(text, start, length, x, y, getPaint(paint));
+        }
+
+        @Override
+        public void drawText(int paint, String text, float x, float y) {
+            canvas.drawText(text, x, y, getPaint(paint));
+        }
 
+        @Override
+        public void drawDigitRoll(int paint, DigitRoll roll, float x, float y) {
+            CustomView.this.drawDigitRoll(canvas, roll, x, y);
         }
 
         @Override
-        public void onAnimationEnd(Animator animation) {
-            if (listener != null) {
-                listener.onAnimationEnd();
+        public boolean drawCachedResult() {
+            Bitmap result = getResultBitmap();
+            if (result == null) {
+                return false;
             }
+            canvas.drawBitmap(result, 0, 0, null);
+            return true;
         }
 
         @Override
-        public void onAnimationCancel(Animator animation) {
+        public void setAlpha(int paint, int alpha) {
+            getPaint(paint).setAlpha(alpha);
+        }
 
+        @Override
+        public void setTextSize(int paint, float size) {
+            getPaint(paint).setTextSize(size);
         }
 
         @Override
-        public void onAnimationRepeat(Animator animation) {
+        public void setAntiAlias(int paint, boolean antiAlias) {
+            getPaint(paint).setAntiAlias(antiAlias);
+        }
 
+        private Paint getPaint(int paint) {
+            switch (paint) {
+                case PROGRESS:
+                    return progressPaint;
+                case PRIMARY_CIRCLE:
+                    return primaryPaint;
+                case SECONDARY_CIRCLE:
+                    return secondaryPaint;
+                case PRIMARY_TEXT:
+                    return primaryTextPaint;
+                case SECONDARY_TEXT:
+                    return secondaryTextPaint;
+                case MEDIUM_TEXT:
+                    return mediumTextPaint;
+                default:
+                    return smallTextPaint;
+            }
         }
     }
 
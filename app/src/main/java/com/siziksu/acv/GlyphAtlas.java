@@ -0,0 +1,156 @@
+package com.siziksu.acv;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class GlyphAtlas {
+
+    private static final int DEFAULT_MAX_ENTRIES = 16;
+    private static final int CELLS = 11;
+
+    private static GlyphAtlas instance;
+
+    private final LinkedHashMap<Key, Strip> entries = new LinkedHashMap<Key, Strip>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Strip> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private final Key probe = new Key();
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final char[] glyph = new char[1];
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    private GlyphAtlas() {
+        paint.setTextAlign(Paint.Align.CENTER);
+    }
+
+    public static synchronized GlyphAtlas getInstance() {
+        if (instance == null) {
+            instance = new GlyphAtlas();
+        }
+        return instance;
+    }
+
+    public synchronized Strip get(Typeface typeface, float textSize, int color) {
+        probe.set(typeface, textSize, color | 0xFF000000);
+        Strip strip = entries.get(probe);
+        if (strip == null) {
+            strip = render(probe);
+            entries.put(probe.copy(), strip);
+        }
+        return strip;
+    }
+
+    public synchronized void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        while (entries.size() > maxEntries) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Strip render(Key key) {
+        paint.setTypeface(key.typeface);
+        paint.setTextSize(key.textSize);
+        paint.setColor(key.color);
+        float cellWidth = 0;
+        for (char digit = '0'; digit <= '9'; digit++) {
+            glyph[0] = digit;
+            cellWidth = Math.max(cellWidth, paint.measureText(glyph, 0, 1));
+        }
+        int width = Math.max(1, (int) Math.ceil(cellWidth));
+        int baseline = (int) Math.ceil(-paint.ascent());
+        int height = Math.max(1, baseline + (int) Math.ceil(paint.descent()));
+        Bitmap bitmap = Bitmap.createBitmap(width, height * CELLS, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        for (int i = 0; i < CELLS; i++) {
+            glyph[0] = (char) ('0' + i % 10);
+            canvas.drawText(glyph, 0, 1, width / 2f, i * height + baseline, paint);
+        }
+        return new Strip(bitmap, width, height, baseline);
+    }
+
+    public static final class Strip {
+
+        private final Bitmap bitmap;
+        private final int cellWidth;
+        private final int cellHeight;
+        private final int baseline;
+
+        Strip(Bitmap bitmap, int cellWidth, int cellHeight, int baseline) {
+            this.bitmap = bitmap;
+            this.cellWidth = cellWidth;
+            this.cellHeight = cellHeight;
+            this.baseline = baseline;
+        }
+
+        public Bitmap getBitmap() {
+            return bitmap;
+        }
+
+        public int getCellWidth() {
+            return cellWidth;
+        }
+
+        public int getCellHeight() {
+            return cellHeight;
+        }
+
+        public int getBaseline() {
+            return baseline;
+        }
+    }
+
+    private static final class Key {
+
+        private Typeface typeface;
+        private float textSize;
+        private int color;
+
+        void set(Typeface typeface, float textSize, int color) {
+            this.typeface = typeface;
+            this.textSize = textSize;
+            this.color = color;
+        }
+
+        Key copy() {
+            Key key = new Key();
+            key.set(typeface, textSize, color);
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Float.floatToIntBits(textSize) == Float.floatToIntBits(key.textSize)
+                    && color == key.color
+                    && (typeface != null ? typeface.equals(key.typeface) : key.typeface == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = typeface != null ? typeface.hashCode() : 0;
+            result = 31 * result + Float.floatToIntBits(textSize);
+            return 31 * result + color;
+        }
+    }
+}
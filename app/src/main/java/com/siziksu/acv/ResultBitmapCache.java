@@ -0,0 +1,146 @@
+package com.siziksu.acv;
+
+import android.graphics.Bitmap;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class ResultBitmapCache {
+
+    private static final int DEFAULT_MAX_BYTES = 4 * 1024 * 1024;
+
+    private static ResultBitmapCache instance;
+
+    private final LinkedHashMap<Key, Bitmap> bitmaps = new LinkedHashMap<>(16, 0.75f, true);
+    private int maxBytes = DEFAULT_MAX_BYTES;
+    private int bytes;
+    private int evictionCount;
+
+    private ResultBitmapCache() {
+    }
+
+    public static ResultBitmapCache getInstance() {
+        if (instance == null) {
+            instance = new ResultBitmapCache();
+        }
+        return instance;
+    }
+
+    public void setMaxBytes(int maxBytes) {
+        this.maxBytes = maxBytes;
+        trimTo(maxBytes);
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getBytes() {
+        return bytes;
+    }
+
+    public int getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void clear() {
+        trimTo(0);
+    }
+
+    boolean fits(int width, int height) {
+        return width > 0 && height > 0 && (long) width * height * 4 <= maxBytes;
+    }
+
+    Bitmap get(Key key) {
+        return bitmaps.get(key);
+    }
+
+    void put(Key key, Bitmap bitmap) {
+        Bitmap previous = bitmaps.put(new Key(key), bitmap);
+        if (previous != null) {
+            bytes -= previous.getByteCount();
+        }
+        bytes += bitmap.getByteCount();
+        trimTo(maxBytes);
+    }
+
+    private void trimTo(int size) {
+        Iterator<Map.Entry<Key, Bitmap>> iterator = bitmaps.entrySet().iterator();
+        while (bytes > size && iterator.hasNext()) {
+            bytes -= iterator.next().getValue().getByteCount();
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    static final class Key {
+
+        int width;
+        int height;
+        int left;
+        int top;
+        int diameter;
+        int primaryColor;
+        int secondaryColor;
+        int primaryTextColor;
+        int secondaryTextColor;
+        int total;
+        int extras;
+
+        Key() {
+        }
+
+        Key(Key other) {
+            width = other.width;
+            height = other.height;
+            left = other.left;
+            top = other.top;
+            diameter = other.diameter;
+            primaryColor = other.primaryColor;
+            secondaryColor = other.secondaryColor;
+            primaryTextColor = other.primaryTextColor;
+            secondaryTextColor = other.secondaryTextColor;
+            total = other.total;
+            extras = other.extras;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return width == key.width
+                    && height == key.height
+                    && left == key.left
+                    && top == key.top
+                    && diameter == key.diameter
+                    && primaryColor == key.primaryColor
+                    && secondaryColor == key.secondaryColor
+                    && primaryTextColor == key.primaryTextColor
+                    && secondaryTextColor == key.secondaryTextColor
+                    && total == key.total
+                    && extras == key.extras;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = width;
+            result = 31 * result + height;
+            result = 31 * result + left;
+            result = 31 * result + top;
+            result = 31 * result + diameter;
+            result = 31 * result + primaryColor;
+            result = 31 * result + secondaryColor;
+            result = 31 * result + primaryTextColor;
+            result = 31 * result + secondaryTextColor;
+            result = 31 * result + total;
+            result = 31 * result + extras;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.siziksu.acv;
+
+import android.animation.TimeAnimator;
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import com.siziksu.acv.engine.DigitBuffer;
+import com.siziksu.acv.engine.DigitRoll;
+import com.siziksu.acv.engine.FrameDrawer;
+import com.siziksu.acv.engine.FrameGrid;
+
+public class ScoreGridView extends View {
+
+    private static final Typeface TEXT_TYPEFACE = Typeface.create(Typeface.DEFAULT, Typeface.NORMAL);
+
+    private final FrameGrid grid = new FrameGrid();
+    private final CanvasAdapter canvasAdapter = new CanvasAdapter();
+    private final Rect visibleBounds = new Rect();
+    private final Rect drawnBounds = new Rect();
+    private final ViewTreeObserver.OnScrollChangedListener scrollListener = this::onScrollChanged;
+
+    private TimeAnimator timeAnimator;
+    private long clockTime;
+    private long clockBase;
+
+    private int progressWidth = 20;
+    private int progressColor = 0xFFFFFFFF;
+    private int primaryColor = 0x00000000;
+    private int secondaryColor = 0x00000000;
+    private int primaryTextColor = 0xFFFFFFFF;
+    private int secondaryTextColor = 0xFFFFFFFF;
+
+    private final Paint progressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint primaryPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint secondaryPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint primaryTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint secondaryTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint mediumTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint smallTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+
+    public ScoreGridView(Context context) {
+        super(context);
+        init(context, null);
+    }
+
+    public ScoreGridView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init(context, attrs);
+    }
+
+    public ScoreGridView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context, attrs);
+    }
+
+    private void init(Context context, AttributeSet attrs) {
+        TypedArray attributes = context.getTheme().obtainStyledAttributes(attrs, R.styleable.ScoreGridView, 0, 0);
+        grid.setColumns(attributes.getInt(R.styleable.ScoreGridView_columns, grid.getColumns()));
+        progressWidth = (int) attributes.getDimension(R.styleable.ScoreGridView_progressWidth, progressWidth);
+        progressColor = attributes.getColor(R.styleable.ScoreGridView_progressColor, progressColor);
+        grid.setProgressWidth(progressWidth);
+        grid.setProgressDuration(attributes.getInt(R.styleable.ScoreGridView_progressDuration, 1800));
+        grid.setCirclePercentSeparation(attributes.getInt(R.styleable.ScoreGridView_circlePercentSeparation, 100));
+        grid.setScaleValue(attributes.getFloat(R.styleable.ScoreGridView_scaleValue, 1f));
+        grid.setScaleDuration(attributes.getInt(R.styleable.ScoreGridView_scaleDuration, 200));
+        primaryColor = attributes.getColor(R.styleable.ScoreGridView_primaryColor, primaryColor);
+        secondaryColor = attributes.getColor(R.styleable.ScoreGridView_secondaryColor, secondaryColor);
+        primaryTextColor = attributes.getColor(R.styleable.ScoreGridView_primaryTextColor, primaryTextColor);
+        secondaryTextColor = attributes.getColor(R.styleable.ScoreGridView_secondaryTextColor, secondaryTextColor);
+        attributes.recycle();
+        setUpPaints();
+    }
+
+    private void setUpPaints() {
+        progressPaint.setStyle(Paint.Style.STROKE);
+        progressPaint.setColor(progressColor);
+        progressPaint.setStrokeWidth(progressWidth);
+        primaryPaint.setStyle(Paint.Style.FILL);
+        primaryPaint.setColor(primaryColor);
+        secondaryPaint.setStyle(Paint.Style.FILL);
+        secondaryPaint.setColor(secondaryColor);
+        setUpTextPaint(primaryTextPaint, primaryTextColor);
+        setUpTextPaint(secondaryTextPaint, secondaryTextColor);
+        setUpTextPaint(mediumTextPaint, primaryTextColor);
+        setUpTextPaint(smallTextPaint, secondaryTextColor);
+    }
+
+    private void setUpTextPaint(TextPaint paint, int color) {
+        paint.setColor(color);
+        paint.setTypeface(TEXT_TYPEFACE);
+        paint.setTextAlign(Paint.Align.CENTER);
+    }
+
+    public void setEntryCount(int count) {
+        grid.setEntryCount(clockTime, count);
+        setUpCells();
+        requestLayout();
+        startTimeline();
+    }
+
+    public void setScores(int[] points, int[] extras) {
+        if (extras != null && extras.length != points.length) {
+            throw new IllegalArgumentException("extras must have one value per entry");
+        }
+        if (grid.getEntryCount() != points.length) {
+            setEntryCount(points.length);
+        }
+        for (int i = 0; i < points.length; i++) {
+            setScore(i, points[i], extras != null ? extras[i] : 0);
+        }
+    }
+
+    public void setScore(int index, int points, int extras) {
+        grid.setScore(clockTime, index, points, extras);
+        startTimeline();
+    }
+
+    public int getEntryCount() {
+        return grid.getEntryCount();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int height = resolveSize(grid.getRowCount() * (width / grid.getColumns()), heightMeasureSpec);
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        setUpCells();
+    }
+
+    private void setUpCells() {
+        if (!grid.setWidth(getWidth(), canvasAdapter)) {
+            return;
+        }
+        DigitBuffer totalDigits = grid.getTotalDigits();
+        TextMetricsCache cache = TextMetricsCache.getInstance();
+        int primaryTextHeight = cache.get(primaryTextPaint, totalDigits.getChars(), totalDigits.getStart(), totalDigits.getLength()).getBoundsHeight();
+        int mediumTextHeight = cache.get(mediumTextPaint, FrameDrawer.POINTS_TEXT).getBoundsHeight();
+        int smallTextHeight = cache.get(smallTextPaint, FrameDrawer.PLUS_TEXT).getBoundsHeight();
+        grid.setTextHeights(primaryTextHeight, mediumTextHeight, smallTextHeight);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (grid.getCellSize() <= 0 || !getLocalVisibleRect(visibleBounds)) {
+            drawnBounds.setEmpty();
+            return;
+        }
+        drawnBounds.set(visibleBounds);
+        drawnBounds.inset(-grid.getCellSize(), -grid.getCellSize());
+        canvasAdapter.canvas = canvas;
+        grid.draw(clockTime, visibleBounds.left, visibleBounds.top, visibleBounds.right, visibleBounds.bottom, canvasAdapter);
+        canvasAdapter.canvas = null;
+    }
+
+    private void onScrollChanged() {
+        if (getLocalVisibleRect(visibleBounds) && !drawnBounds.contains(visibleBounds)) {
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        getViewTreeObserver().addOnScrollChangedListener(scrollListener);
+        startTimeline();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        stopTimeline();
+        getViewTreeObserver().removeOnScrollChangedListener(scrollListener);
+        super.onDetachedFromWindow();
+    }
+
+    private void onFrame(long time) {
+        long previousTime = clockTime;
+        clockTime = time;
+        if (grid.isFinished(time)) {
+            stopTimeline();
+        }
+        if (getLocalVisibleRect(visibleBounds)
+                && grid.isAnimating(previousTime, visibleBounds.left, visibleBounds.top, visibleBounds.right, visibleBounds.bottom)) {
+            invalidate();
+        }
+    }
+
+    private void startTimeline() {
+        if (!isAttachedToWindow() || grid.getEntryCount() == 0 || (timeAnimator != null && timeAnimator.isStarted())) {
+            return;
+        }
+        if (timeAnimator == null) {
+            timeAnimator = new TimeAnimator();
+            timeAnimator.setTimeListener((animation, totalTime, deltaTime) -> onFrame(clockBase + totalTime));
+        }
+        clockBase = clockTime;
+        timeAnimator.start();
+    }
+
+    private void stopTimeline() {
+        if (timeAnimator != null) {
+            timeAnimator.cancel();
+        }
+    }
+
+    private final class CanvasAdapter implements FrameGrid.CellCanvas {
+
+        private final RectF bounds = new RectF();
+        private final DigitBuffer rollDigits = new DigitBuffer();
+        private Canvas canvas;
+        private int saveCount;
+
+        @Override
+        public void beginCell(int left, int top) {
+            saveCount = canvas.save();
+            canvas.translate(left, top);
+        }
+
+        @Override
+        public void endCell() {
+            canvas.restoreToCount(saveCount);
+        }
+
+        @Override
+        public void drawArc(int paint, float left, float top, float right, float bottom, float startAngle, float sweepAngle) {
+            bounds.set(left, top, right, bottom);
+            canvas.drawArc(bounds, startAngle, sweepAngle, false, getPaint(paint));
+        }
+
+        @Override
+        public void drawText(int paint, char[] text, int start, int length, float x, float y) {
+            canvas.drawText(text, start, length, x, y, getPaint(paint));
+        }
+
+        @Override
+        public void drawText(int paint, String text, float x, float y) {
+            canvas.drawText(text, x, y, getPaint(paint));
+        }
+
+        @Override
+        public void drawDigitRoll(int paint, DigitRoll roll, float x, float y) {
+            rollDigits.set(roll.getValue());
+            drawText(paint, rollDigits.getChars(), rollDigits.getStart(), rollDigits.getLength(), x, y);
+        }
+
+        @Override
+        public boolean drawCachedResult() {
+            return false;
+        }
+
+        @Override
+        public void setAlpha(int paint, int alpha) {
+            getPaint(paint).setAlpha(alpha);
+        }
+
+        @Override
+        public void setTextSize(int paint, float size) {
+            getPaint(paint).setTextSize(size);
+        }
+
+        @Override
+        public void setAntiAlias(int paint, boolean antiAlias) {
+            getPaint(paint).setAntiAlias(antiAlias);
+        }
+
+        private Paint getPaint(int paint) {
+            switch (paint) {
+                case PROGRESS:
+                    return progressPaint;
+                case PRIMARY_CIRCLE:
+                    return primaryPaint;
+                case SECONDARY_CIRCLE:
+                    return secondaryPaint;
+                case PRIMARY_TEXT:
+                    return primaryTextPaint;
+                case SECONDARY_TEXT:
+                    return secondaryTextPaint;
+                case MEDIUM_TEXT:
+                    return mediumTextPaint;
+                default:
+                    return smallTextPaint;
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.siziksu.acv;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class TextMetricsCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private static TextMetricsCache instance;
+
+    private final LinkedHashMap<Key, Metrics> entries = new LinkedHashMap<Key, Metrics>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Metrics> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private final Key probe = new Key();
+    private final Rect bounds = new Rect();
+    private char[] scratch = new char[16];
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private long hitCount;
+    private long missCount;
+
+    private TextMetricsCache() {
+    }
+
+    public static synchronized TextMetricsCache getInstance() {
+        if (instance == null) {
+            instance = new TextMetricsCache();
+        }
+        return instance;
+    }
+
+    public synchronized Metrics get(Paint paint, String text) {
+        int length = text.length();
+        if (scratch.length < length) {
+            scratch = new char[length];
+        }
+        text.getChars(0, length, scratch, 0);
+        return get(paint, scratch, 0, length);
+    }
+
+    public synchronized Metrics get(Paint paint, char[] text, int start, int length) {
+        probe.set(paint.getTypeface(), paint.getTextSize(), text, start, length);
+        Metrics metrics = entries.get(probe);
+        if (metrics != null) {
+            hitCount++;
+            return metrics;
+        }
+        missCount++;
+        metrics = measure(paint, text, start, length);
+        entries.put(probe.copy(), metrics);
+        return metrics;
+    }
+
+    public synchronized void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        while (entries.size() > maxEntries) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private Metrics measure(Paint paint, char[] text, int start, int length) {
+        paint.getTextBounds(text, start, length, bounds);
+        float[] glyphWidths = new float[length];
+        paint.getTextWidths(text, start, length, glyphWidths);
+        float width = 0;
+        for (float glyphWidth : glyphWidths) {
+            width += glyphWidth;
+        }
+        return new Metrics(bounds.width(), bounds.height(), width, glyphWidths);
+    }
+
+    public static final class Metrics {
+
+        private final int boundsWidth;
+        private final int boundsHeight;
+        private final float advance;
+        private final float[] glyphWidths;
+
+        Metrics(int boundsWidth, int boundsHeight, float advance, float[] glyphWidths) {
+            this.boundsWidth = boundsWidth;
+            this.boundsHeight = boundsHeight;
+            this.advance = advance;
+            this.glyphWidths = glyphWidths;
+        }
+
+        public int getBoundsWidth() {
+            return boundsWidth;
+        }
+
+        public int getBoundsHeight() {
+            return boundsHeight;
+        }
+
+        public float getAdvance() {
+            return advance;
+        }
+
+        public float getGlyphWidth(int index) {
+            return glyphWidths[index];
+        }
+    }
+
+    private static final class Key {
+
+        private Typeface typeface;
+        private float textSize;
+        private char[] text;
+        private int start;
+        private int length;
+        private int hash;
+
+        void set(Typeface typeface, float textSize, char[] text, int start, int length) {
+            this.typeface = typeface;
+            this.textSize = textSize;
+            this.text = text;
+            this.start = start;
+            this.length = length;
+            int result = typeface != null ? typeface.hashCode() : 0;
+            result = 31 * result + Float.floatToIntBits(textSize);
+            for (int i = start; i < start + length; i++) {
+                result = 31 * result + text[i];
+            }
+            hash = result;
+        }
+
+        Key copy() {
+            Key key = new Key();
+            key.set(typeface, textSize, Arrays.copyOfRange(text, start, start + length), 0, length);
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            if (hash != key.hash
+                    || length != key.length
+                    || Float.floatToIntBits(textSize) != Float.floatToIntBits(key.textSize)
+                    || (typeface != null ? !typeface.equals(key.typeface) : key.typeface != null)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (text[start + i] != key.text[key.start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
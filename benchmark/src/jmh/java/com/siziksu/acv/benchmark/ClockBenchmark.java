@@ -0,0 +1,75 @@
+package com.siziksu.acv.benchmark;
+
+import com.siziksu.acv.engine.FrameClock;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClockBenchmark {
+
+    private static final long FRAME_NANOS = 16_666_667L;
+
+    @Param({"100", "500"})
+    public int viewCount;
+
+    private final FrameClock clock = new FrameClock();
+    private PresenterFactory.FakeView[] views;
+    private long frameTimeNanos;
+
+    @Setup
+    public void setUp() {
+        PresenterFactory.CountingCanvas canvas = new PresenterFactory.CountingCanvas();
+        views = new PresenterFactory.FakeView[viewCount];
+        for (int i = 0; i < viewCount; i++) {
+            views[i] = PresenterFactory.create(clock, canvas);
+            views[i].layout(EngineFactory.SIZE);
+        }
+    }
+
+    @Benchmark
+    public void callbackPerView(Counters counters) {
+        frameTimeNanos += FRAME_NANOS;
+        for (PresenterFactory.FakeView view : views) {
+            counters.callbacks++;
+            if (view.onClockFrame(frameTimeNanos)) {
+                counters.invalidations++;
+            }
+        }
+    }
+
+    @Benchmark
+    public void sharedClock(Counters counters) {
+        frameTimeNanos += FRAME_NANOS;
+        counters.callbacks++;
+        long invalidations = clock.getInvalidationCount();
+        clock.doFrame(frameTimeNanos);
+        counters.invalidations += clock.getInvalidationCount() - invalidations;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long callbacks;
+        public long invalidations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            callbacks = 0;
+            invalidations = 0;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.siziksu.acv.benchmark;
+
+import com.siziksu.acv.engine.DigitBuffer;
+import com.siziksu.acv.engine.Frame;
+import com.siziksu.acv.engine.FrameEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CounterBenchmark {
+
+    private final DigitBuffer digits = new DigitBuffer();
+    private final FrameEngine engine = EngineFactory.create();
+    private final float[] frame = Frame.create();
+    private int value;
+    private long time;
+
+    @Benchmark
+    public int formatDigits() {
+        value += 7919;
+        digits.set(value);
+        return digits.getLength();
+    }
+
+    @Benchmark
+    public int receivePoints() {
+        value += 7919;
+        time += 16;
+        engine.start(time);
+        engine.setResult(time, value, value >>> 1, true);
+        return engine.compute(time + 16, frame);
+    }
+}
@@ -0,0 +1,25 @@
+package com.siziksu.acv.benchmark;
+
+import com.siziksu.acv.engine.FrameEngine;
+
+final class EngineFactory {
+
+    static final int SIZE = 330;
+    static final int RESULT_TIME = 1000;
+
+    private EngineFactory() {
+    }
+
+    static FrameEngine create() {
+        FrameEngine engine = new FrameEngine();
+        engine.setProgressWidth(30);
+        engine.setProgressDuration(1800);
+        engine.setCirclePercentSeparation(90);
+        engine.setScaleValue(1.25f);
+        engine.setScaleDuration(200);
+        engine.setSize(SIZE, SIZE, 0, 0, 0, 0);
+        engine.setTextHeights(70, 70, 25, 20);
+        engine.start(0);
+        return engine;
+    }
+}
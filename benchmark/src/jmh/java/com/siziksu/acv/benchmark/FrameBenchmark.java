@@ -0,0 +1,79 @@
+package com.siziksu.acv.benchmark;
+
+import com.siziksu.acv.engine.Frame;
+import com.siziksu.acv.engine.FrameEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameBenchmark {
+
+    @Param({"SPINNER", "CIRCLE_FADE", "TEXT_FADE", "TRANSLATION", "SCALE", "SETTLED"})
+    public String phase;
+
+    @Param({"0", "60"})
+    public int keyframeRate;
+
+    private FrameEngine engine;
+    private final float[] frame = Frame.create();
+    private long phaseStart;
+    private long phaseLength;
+    private long tick;
+
+    @Setup
+    public void setUp() {
+        engine = EngineFactory.create();
+        engine.setKeyframeRate(keyframeRate);
+        long result = EngineFactory.RESULT_TIME;
+        long textFade = result + FrameEngine.CIRCLE_FADE_DURATION;
+        long translation = textFade + FrameEngine.TEXT_FADE_DURATION;
+        long scale = translation + FrameEngine.TRANSLATION_DURATION * 2 + FrameEngine.TRANSLATION_HOLD;
+        switch (phase) {
+            case "SPINNER":
+                phaseStart = 0;
+                phaseLength = result;
+                break;
+            case "CIRCLE_FADE":
+                phaseStart = result;
+                phaseLength = FrameEngine.CIRCLE_FADE_DURATION;
+                break;
+            case "TEXT_FADE":
+                phaseStart = textFade;
+                phaseLength = FrameEngine.TEXT_FADE_DURATION;
+                break;
+            case "TRANSLATION":
+                phaseStart = translation;
+                phaseLength = scale - translation;
+                break;
+            case "SCALE":
+                phaseStart = scale;
+                phaseLength = 400;
+                break;
+            default:
+                phaseStart = scale + 400;
+                phaseLength = 1000;
+                break;
+        }
+        if (!"SPINNER".equals(phase)) {
+            engine.setResult(result, 1315, 2040, true);
+        }
+    }
+
+    @Benchmark
+    public float[] compute() {
+        tick = (tick + 16) % phaseLength;
+        engine.compute(phaseStart + tick, frame);
+        return frame;
+    }
+}
@@ -0,0 +1,98 @@
+package com.siziksu.acv.benchmark;
+
+import com.siziksu.acv.engine.FrameGrid;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GridBenchmark {
+
+    private static final int COLUMNS = 4;
+    private static final int CELL_SIZE = 200;
+    private static final int FRAME_MILLIS = 16;
+
+    @Param({"20", "100", "200"})
+    public int entryCount;
+
+    private final FrameGrid grid = new FrameGrid();
+    private final PresenterFactory.CountingCanvas canvas = new PresenterFactory.CountingCanvas();
+    private PresenterFactory.FakeView[] views;
+    private int width;
+    private int height;
+    private long time;
+    private long previousTime;
+
+    @Setup
+    public void setUp() {
+        grid.setColumns(COLUMNS);
+        grid.setProgressWidth(30);
+        grid.setCirclePercentSeparation(90);
+        grid.setScaleValue(1.25f);
+        grid.setEntryCount(0, entryCount);
+        width = COLUMNS * CELL_SIZE;
+        height = grid.getRowCount() * CELL_SIZE;
+        grid.setWidth(width, canvas);
+        grid.setTextHeights(CELL_SIZE / 5, CELL_SIZE / 13, CELL_SIZE / 16);
+        views = new PresenterFactory.FakeView[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            views[i] = PresenterFactory.create(null, canvas);
+            views[i].layout(CELL_SIZE);
+        }
+    }
+
+    @Benchmark
+    public void gridView(Counters counters) {
+        previousTime = time;
+        time += FRAME_MILLIS;
+        counters.callbacks++;
+        if (grid.isAnimating(previousTime, 0, 0, width, height)) {
+            counters.invalidations++;
+            long drawCalls = canvas.drawCalls;
+            grid.draw(time, 0, 0, width, height, canvas);
+            counters.drawCalls += canvas.drawCalls - drawCalls;
+        }
+    }
+
+    @Benchmark
+    public void separateViews(Counters counters) {
+        time += FRAME_MILLIS;
+        long drawCalls = canvas.drawCalls;
+        for (PresenterFactory.FakeView view : views) {
+            counters.callbacks++;
+            if (view.presenter.onFrame(time)) {
+                counters.invalidations++;
+                view.presenter.draw(canvas);
+            }
+        }
+        counters.drawCalls += canvas.drawCalls - drawCalls;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long callbacks;
+        public long invalidations;
+        public long drawCalls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            callbacks = 0;
+            invalidations = 0;
+            drawCalls = 0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.siziksu.acv.benchmark;
+
+import com.siziksu.acv.engine.Frame;
+import com.siziksu.acv.engine.FrameEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LayoutBenchmark {
+
+    private FrameEngine engine;
+    private final float[] frame = Frame.create();
+    private int size = EngineFactory.SIZE;
+
+    @Setup
+    public void setUp() {
+        engine = EngineFactory.create();
+    }
+
+    @Benchmark
+    public float[] relayout() {
+        size = size == EngineFactory.SIZE ? EngineFactory.SIZE + 40 : EngineFactory.SIZE;
+        engine.setSize(size, size + 20, 4, 4, 4, 4);
+        engine.setTextHeights(size / 5, size / 5, size / 13, size / 16);
+        engine.compute(0, frame);
+        return frame;
+    }
+}
@@ -0,0 +1,156 @@
+package com.siziksu.acv.benchmark;
+
+import com.siziksu.acv.engine.DigitRoll;
+import com.siziksu.acv.engine.FrameClock;
+import com.siziksu.acv.engine.FrameEngine;
+import com.siziksu.acv.engine.FrameGrid;
+import com.siziksu.acv.engine.FramePresenter;
+
+final class PresenterFactory {
+
+    private PresenterFactory() {
+    }
+
+    static FakeView create(FrameClock clock, CountingCanvas canvas) {
+        FakeView view = new FakeView(clock);
+        FrameEngine engine = view.presenter.getEngine();
+        engine.setProgressWidth(30);
+        engine.setProgressDuration(1800);
+        engine.setCirclePercentSeparation(90);
+        engine.setScaleValue(1.25f);
+        engine.setScaleDuration(200);
+        view.presenter.setPaints(canvas);
+        return view;
+    }
+
+    static final class FakeView implements FramePresenter.Host, FrameClock.Client {
+
+        final FramePresenter presenter = new FramePresenter(this);
+        private final FrameClock clock;
+        private int size;
+
+        private FakeView(FrameClock clock) {
+            this.clock = clock;
+        }
+
+        void onSizeChanged(int size) {
+            this.size = size;
+            presenter.invalidateLayout();
+        }
+
+        void onDraw(CountingCanvas canvas) {
+            if (presenter.isLayoutDirty()) {
+                layout(size);
+            }
+            presenter.draw(canvas);
+        }
+
+        void layout(int size) {
+            this.size = size;
+            presenter.setSize(size, size, 0, 0, 0, 0);
+            presenter.setTextHeights(size / 5, size / 5, size / 13, size / 16);
+            presenter.layout();
+            presenter.play();
+        }
+
+        @Override
+        public boolean onClockFrame(long frameTimeNanos) {
+            return presenter.onFrame(frameTimeNanos / 1_000_000L);
+        }
+
+        @Override
+        public boolean canAnimate() {
+            return true;
+        }
+
+        @Override
+        public boolean isShown() {
+            return true;
+        }
+
+        @Override
+        public void startTimeline(long clockTime) {
+            if (clock != null) {
+                clock.register(this);
+            }
+        }
+
+        @Override
+        public void stopTimeline() {
+            if (clock != null) {
+                clock.unregister(this);
+            }
+        }
+
+        @Override
+        public void invalidate() {
+        }
+
+        @Override
+        public void invalidate(int left, int top, int right, int bottom) {
+        }
+
+        @Override
+        public void fadeSpinner(int alpha) {
+        }
+
+        @Override
+        public void onAnimationEnd() {
+        }
+
+        @Override
+        public long uptimeMillis() {
+            return 0;
+        }
+    }
+
+    static final class CountingCanvas implements FrameGrid.CellCanvas {
+
+        long drawCalls;
+
+        @Override
+        public void beginCell(int left, int top) {
+        }
+
+        @Override
+        public void endCell() {
+        }
+
+        @Override
+        public void drawArc(int paint, float left, float top, float right, float bottom, float startAngle, float sweepAngle) {
+            drawCalls++;
+        }
+
+        @Override
+        public void drawText(int paint, char[] text, int start, int length, float x, float y) {
+            drawCalls++;
+        }
+
+        @Override
+        public void drawText(int paint, String text, float x, float y) {
+            drawCalls++;
+        }
+
+        @Override
+        public void drawDigitRoll(int paint, DigitRoll roll, float x, float y) {
+            drawCalls++;
+        }
+
+        @Override
+        public boolean drawCachedResult() {
+            return false;
+        }
+
+        @Override
+        public void setAlpha(int paint, int alpha) {
+        }
+
+        @Override
+        public void setTextSize(int paint, float size) {
+        }
+
+        @Override
+        public void setAntiAlias(int paint, boolean antiAlias) {
+        }
+    }
+}
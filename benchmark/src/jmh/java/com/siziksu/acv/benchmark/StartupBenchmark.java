@@ -0,0 +1,47 @@
+package com.siziksu.acv.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StartupBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int viewCount;
+
+    @Param({"1", "4"})
+    public int layoutPasses;
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    private final PresenterFactory.CountingCanvas canvas = new PresenterFactory.CountingCanvas();
+
+    @Benchmark
+    public void setUpAndFirstFrame(Blackhole blackhole) {
+        for (int i = 0; i < viewCount; i++) {
+            PresenterFactory.FakeView view = PresenterFactory.create(null, canvas);
+            for (int pass = layoutPasses - 1; pass >= 0; pass--) {
+                int size = EngineFactory.SIZE - pass * 10;
+                if (lazy) {
+                    view.onSizeChanged(size);
+                } else {
+                    view.layout(size);
+                }
+            }
+            view.onDraw(canvas);
+            view.presenter.stopTimeline();
+            blackhole.consume(view);
+        }
+    }
+}
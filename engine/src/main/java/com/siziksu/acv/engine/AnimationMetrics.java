@@ -0,0 +1,80 @@
+package com.siziksu.acv.engine;
+
+public final class AnimationMetrics {
+
+    public static final long FRAME_INTERVAL_NANOS = 16_666_667L;
+
+    private final Histogram drawTime = new Histogram();
+    private final Histogram updateTime = new Histogram();
+    private final Histogram layoutTime = new Histogram();
+    private final Histogram frameInterval = new Histogram();
+    private final long[] droppedFrames = new long[FrameEngine.PHASE_COUNT];
+    private int animatorCount;
+
+    public void recordDraw(long nanos) {
+        drawTime.record(nanos);
+    }
+
+    public void recordUpdate(long nanos) {
+        updateTime.record(nanos);
+    }
+
+    public void recordLayout(long nanos) {
+        layoutTime.record(nanos);
+    }
+
+    public void recordFrameInterval(int phase, long nanos) {
+        recordFrameInterval(phase, nanos, FRAME_INTERVAL_NANOS);
+    }
+
+    public void recordFrameInterval(int phase, long nanos, long targetNanos) {
+        frameInterval.record(nanos);
+        long dropped = (nanos + targetNanos / 2) / targetNanos - 1;
+        if (dropped > 0) {
+            droppedFrames[phase] += dropped;
+        }
+    }
+
+    public void setAnimatorCount(int animatorCount) {
+        this.animatorCount = animatorCount;
+    }
+
+    public Histogram getDrawTime() {
+        return drawTime;
+    }
+
+    public Histogram getUpdateTime() {
+        return updateTime;
+    }
+
+    public Histogram getLayoutTime() {
+        return layoutTime;
+    }
+
+    public Histogram getFrameInterval() {
+        return frameInterval;
+    }
+
+    public long getDroppedFrames(int phase) {
+        return droppedFrames[phase];
+    }
+
+    public int getAnimatorCount() {
+        return animatorCount;
+    }
+
+    public void reset() {
+        drawTime.reset();
+        updateTime.reset();
+        layoutTime.reset();
+        frameInterval.reset();
+        for (int i = 0; i < droppedFrames.length; i++) {
+            droppedFrames[i] = 0;
+        }
+    }
+
+    public interface Listener {
+
+        void onFrameRecorded(AnimationMetrics metrics, int phase);
+    }
+}
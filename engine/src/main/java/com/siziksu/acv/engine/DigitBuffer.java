@@ -0,0 +1,54 @@
+package com.siziksu.acv.engine;
+
+public final class DigitBuffer {
+
+    private static final int CAPACITY = 11;
+
+    private final char[] chars = new char[CAPACITY];
+    private int start = CAPACITY;
+    private int value;
+
+    public DigitBuffer() {
+        format(0);
+    }
+
+    public void set(int value) {
+        if (this.value != value) {
+            format(value);
+        }
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public char[] getChars() {
+        return chars;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getLength() {
+        return CAPACITY - start;
+    }
+
+    private void format(int value) {
+        long remaining = value;
+        boolean negative = remaining < 0;
+        if (negative) {
+            remaining = -remaining;
+        }
+        int index = CAPACITY;
+        do {
+            chars[--index] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (negative) {
+            chars[--index] = '-';
+        }
+        start = index;
+        this.value = value;
+    }
+}
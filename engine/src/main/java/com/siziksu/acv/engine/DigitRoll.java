@@ -0,0 +1,87 @@
+package com.siziksu.acv.engine;
+
+public final class DigitRoll {
+
+    public static final int DURATION = 500;
+    public static final int COLUMN_DELAY = 60;
+    public static final int MAX_COLUMNS = 10;
+
+    private final float[] fromPositions = new float[MAX_COLUMNS];
+    private final int[] toDigits = new int[MAX_COLUMNS];
+    private final float[] positions = new float[MAX_COLUMNS];
+    private int value;
+    private int columns = 1;
+    private int rollColumns;
+    private long start;
+    private boolean running;
+
+    public void set(int value) {
+        this.value = Math.max(0, value);
+        columns = split(this.value, toDigits);
+        for (int i = 0; i < MAX_COLUMNS; i++) {
+            positions[i] = toDigits[i];
+        }
+        running = false;
+    }
+
+    public void rollTo(long time, int value) {
+        value = Math.max(0, value);
+        if (value == this.value) {
+            return;
+        }
+        System.arraycopy(positions, 0, fromPositions, 0, MAX_COLUMNS);
+        rollColumns = Math.max(getColumnCount(), split(value, toDigits));
+        this.value = value;
+        start = time;
+        running = true;
+    }
+
+    public boolean update(long time) {
+        if (!running) {
+            return false;
+        }
+        boolean finished = true;
+        for (int i = 0; i < rollColumns; i++) {
+            float fraction = (float) (time - start - i * COLUMN_DELAY) / DURATION;
+            if (fraction < 1) {
+                finished = false;
+            }
+            fraction = Math.max(0, Math.min(1, fraction));
+            float from = fromPositions[i];
+            float distance = ((toDigits[i] - from) % 10 + 10) % 10;
+            positions[i] = (from + distance * Easing.accelerateDecelerate(fraction)) % 10;
+        }
+        if (finished) {
+            set(value);
+        }
+        return running;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public int getColumnCount() {
+        return running ? rollColumns : columns;
+    }
+
+    public float getPosition(int column) {
+        return positions[column];
+    }
+
+    private static int split(int value, int[] digits) {
+        int count = 0;
+        for (int i = 0; i < MAX_COLUMNS; i++) {
+            digits[i] = value % 10;
+            value /= 10;
+            if (digits[i] != 0 || i == 0) {
+                count = i + 1;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,11 @@
+package com.siziksu.acv.engine;
+
+public final class Easing {
+
+    private Easing() {
+    }
+
+    public static float accelerateDecelerate(float input) {
+        return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+    }
+}
@@ -0,0 +1,47 @@
+package com.siziksu.acv.engine;
+
+public final class Frame {
+
+    public static final int PHASE = 0;
+    public static final int RESULT_VISIBLE = 1;
+    public static final int ARC_START = 2;
+    public static final int ARC_SWEEP = 3;
+    public static final int PROGRESS_ALPHA = 4;
+    public static final int CIRCLE_ALPHA = 5;
+    public static final int TEXT_ALPHA = 6;
+    public static final int TEXT_SCALE = 7;
+    public static final int PROGRESS_LEFT = 8;
+    public static final int PROGRESS_TOP = 9;
+    public static final int PROGRESS_RIGHT = 10;
+    public static final int PROGRESS_BOTTOM = 11;
+    public static final int PRIMARY_LEFT = 12;
+    public static final int PRIMARY_TOP = 13;
+    public static final int PRIMARY_RIGHT = 14;
+    public static final int PRIMARY_BOTTOM = 15;
+    public static final int SECONDARY_LEFT = 16;
+    public static final int SECONDARY_TOP = 17;
+    public static final int SECONDARY_RIGHT = 18;
+    public static final int SECONDARY_BOTTOM = 19;
+    public static final int PRIMARY_X = 20;
+    public static final int TOTAL_Y = 21;
+    public static final int POINTS_Y = 22;
+    public static final int SECONDARY_X = 23;
+    public static final int EXTRAS_Y = 24;
+    public static final int PLUS_Y = 25;
+    public static final int EXTRA_Y = 26;
+    public static final int POINTS_EXTRA_Y = 27;
+    public static final int DIRTY_LEFT = 28;
+    public static final int DIRTY_TOP = 29;
+    public static final int DIRTY_RIGHT = 30;
+    public static final int DIRTY_BOTTOM = 31;
+    public static final int TEXT_OFFSET = 32;
+
+    public static final int SIZE = 33;
+
+    private Frame() {
+    }
+
+    public static float[] create() {
+        return new float[SIZE];
+    }
+}
@@ -0,0 +1,22 @@
+package com.siziksu.acv.engine;
+
+public interface FrameCanvas {
+
+    int PROGRESS = 0;
+    int PRIMARY_CIRCLE = 1;
+    int SECONDARY_CIRCLE = 2;
+    int PRIMARY_TEXT = 3;
+    int SECONDARY_TEXT = 4;
+    int MEDIUM_TEXT = 5;
+    int SMALL_TEXT = 6;
+
+    void drawArc(int paint, float left, float top, float right, float bottom, float startAngle, float sweepAngle);
+
+    void drawText(int paint, char[] text, int start, int length, float x, float y);
+
+    void drawText(int paint, String text, float x, float y);
+
+    void drawDigitRoll(int paint, DigitRoll roll, float x, float y);
+
+    boolean drawCachedResult();
+}
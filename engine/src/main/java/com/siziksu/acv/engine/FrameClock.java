@@ -0,0 +1,53 @@
+package com.siziksu.acv.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class FrameClock {
+
+    private final List<Client> clients = new ArrayList<>();
+    private long frameCount;
+    private long invalidationCount;
+
+    public void register(Client client) {
+        if (!clients.contains(client)) {
+            clients.add(client);
+        }
+    }
+
+    public void unregister(Client client) {
+        clients.remove(client);
+    }
+
+    public boolean doFrame(long frameTimeNanos) {
+        frameCount++;
+        for (int i = clients.size() - 1; i >= 0; i--) {
+            if (clients.get(i).onClockFrame(frameTimeNanos)) {
+                invalidationCount++;
+            }
+        }
+        return !clients.isEmpty();
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public void resetCounters() {
+        frameCount = 0;
+        invalidationCount = 0;
+    }
+
+    public interface Client {
+
+        boolean onClockFrame(long frameTimeNanos);
+    }
+}
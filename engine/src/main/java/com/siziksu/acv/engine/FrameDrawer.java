@@ -0,0 +1,67 @@
+package com.siziksu.acv.engine;
+
+public final class FrameDrawer {
+
+    public static final String POINTS_TEXT = "POINTS";
+    public static final String PLUS_TEXT = "PLUS";
+    public static final String EXTRA_TEXT = "EXTRA";
+
+    private FrameDrawer() {
+    }
+
+    public static void draw(float[] frame, DigitBuffer total, DigitBuffer extras, FrameCanvas canvas) {
+        drawProgress(frame, canvas);
+        if (frame[Frame.RESULT_VISIBLE] != 0) {
+            drawResult(frame, total, extras, canvas);
+        }
+    }
+
+    public static void drawProgress(float[] frame, FrameCanvas canvas) {
+        canvas.drawArc(
+                FrameCanvas.PROGRESS,
+                frame[Frame.PROGRESS_LEFT],
+                frame[Frame.PROGRESS_TOP],
+                frame[Frame.PROGRESS_RIGHT],
+                frame[Frame.PROGRESS_BOTTOM],
+                frame[Frame.ARC_START],
+                frame[Frame.ARC_SWEEP]
+        );
+    }
+
+    public static void drawResult(float[] frame, DigitBuffer total, DigitBuffer extras, FrameCanvas canvas) {
+        drawResult(frame, total, extras, null, canvas);
+    }
+
+    public static void drawResult(float[] frame, DigitBuffer total, DigitBuffer extras, DigitRoll roll, FrameCanvas canvas) {
+        float primaryX = frame[Frame.PRIMARY_X];
+        float secondaryX = frame[Frame.SECONDARY_X];
+        canvas.drawArc(
+                FrameCanvas.SECONDARY_CIRCLE,
+                frame[Frame.SECONDARY_LEFT],
+                frame[Frame.SECONDARY_TOP],
+                frame[Frame.SECONDARY_RIGHT],
+                frame[Frame.SECONDARY_BOTTOM],
+                0,
+                360
+        );
+        canvas.drawText(FrameCanvas.SECONDARY_TEXT, extras.getChars(), extras.getStart(), extras.getLength(), secondaryX, frame[Frame.EXTRAS_Y]);
+        canvas.drawText(FrameCanvas.SMALL_TEXT, PLUS_TEXT, secondaryX, frame[Frame.PLUS_Y]);
+        canvas.drawText(FrameCanvas.SMALL_TEXT, EXTRA_TEXT, secondaryX, frame[Frame.EXTRA_Y]);
+        canvas.drawText(FrameCanvas.SMALL_TEXT, POINTS_TEXT, secondaryX, frame[Frame.POINTS_EXTRA_Y]);
+        canvas.drawArc(
+                FrameCanvas.PRIMARY_CIRCLE,
+                frame[Frame.PRIMARY_LEFT],
+                frame[Frame.PRIMARY_TOP],
+                frame[Frame.PRIMARY_RIGHT],
+                frame[Frame.PRIMARY_BOTTOM],
+                0,
+                360
+        );
+        if (roll != null && total.getValue() >= 0) {
+            canvas.drawDigitRoll(FrameCanvas.PRIMARY_TEXT, roll, primaryX, frame[Frame.TOTAL_Y]);
+        } else {
+            canvas.drawText(FrameCanvas.PRIMARY_TEXT, total.getChars(), total.getStart(), total.getLength(), primaryX, frame[Frame.TOTAL_Y]);
+        }
+        canvas.drawText(FrameCanvas.MEDIUM_TEXT, POINTS_TEXT, primaryX, frame[Frame.POINTS_Y]);
+    }
+}
@@ -0,0 +1,567 @@
+package com.siziksu.acv.engine;
+
+public final class FrameEngine {
+
+    public static final int PHASE_SPINNER = 0;
+    public static final int PHASE_CIRCLE_FADE = 1;
+    public static final int PHASE_TEXT_FADE = 2;
+    public static final int PHASE_TRANSLATION = 3;
+    public static final int PHASE_SCALE = 4;
+    public static final int PHASE_SETTLED = 5;
+    public static final int PHASE_COUNT = 6;
+
+    public static final int CIRCLE_FADE_DURATION = 800;
+    public static final int TEXT_FADE_DURATION = 800;
+    public static final int TEXT_TRANSLATION_DURATION = 300;
+    public static final int TRANSLATION_DURATION = 300;
+    public static final int TRANSLATION_HOLD = 1500;
+    public static final int COUNTER_DURATION = 300;
+
+    private static final int[] SPINNER_CHANNELS = {Frame.ARC_START, Frame.ARC_SWEEP};
+    private static final int[] RESULT_CHANNELS = {
+            Frame.CIRCLE_ALPHA,
+            Frame.TEXT_ALPHA,
+            Frame.TEXT_SCALE,
+            Frame.TEXT_OFFSET,
+            Frame.PRIMARY_LEFT,
+            Frame.PRIMARY_TOP,
+            Frame.PRIMARY_RIGHT,
+            Frame.PRIMARY_BOTTOM,
+            Frame.SECONDARY_LEFT,
+            Frame.SECONDARY_TOP,
+            Frame.SECONDARY_RIGHT,
+            Frame.SECONDARY_BOTTOM
+    };
+
+    private int progressWidth = 20;
+    private int progressDuration = 1800;
+    private int circlePercentSeparation = 100;
+    private float scaleValue = 1f;
+    private int scaleDuration = 200;
+
+    private int layoutWidth;
+    private int layoutHeight;
+    private int horizontalCompensation;
+    private int verticalCompensation;
+    private float progressLeft;
+    private float progressTop;
+    private float progressRight;
+    private float progressBottom;
+    private float mainLeft;
+    private float mainTop;
+    private float mainRight;
+    private float mainBottom;
+    private int diameter;
+    private int radius;
+    private float normalTextSize;
+    private float mediumTextSize;
+    private float smallTextSize;
+    private int primaryTextHeight;
+    private int secondaryTextHeight;
+    private int mediumTextHeight;
+    private int smallTextHeight;
+
+    private long spinnerStart;
+    private long spinnerEnd = Long.MAX_VALUE;
+    private boolean resultReceived;
+    private long resultTime;
+    private boolean withExtras;
+    private int points;
+    private int extras;
+    private int total;
+    private int targetTotal;
+    private boolean counterRunning;
+    private int counterFrom;
+    private long counterStart;
+
+    private boolean scalePulse = true;
+
+    private int keyframeRate;
+    private boolean tablesDirty = true;
+    private float[] spinnerTable;
+    private int spinnerSamples;
+    private float[] resultTable;
+    private int resultSamples;
+    private float[] extrasResultTable;
+    private int extrasResultSamples;
+
+    private boolean hasLastDirty;
+    private float lastDirtyLeft;
+    private float lastDirtyTop;
+    private float lastDirtyRight;
+    private float lastDirtyBottom;
+
+    public void setProgressWidth(int progressWidth) {
+        this.progressWidth = progressWidth;
+        tablesDirty = true;
+    }
+
+    public void setProgressDuration(int progressDuration) {
+        this.progressDuration = progressDuration;
+        tablesDirty = true;
+    }
+
+    public void setCirclePercentSeparation(int circlePercentSeparation) {
+        this.circlePercentSeparation = circlePercentSeparation;
+        tablesDirty = true;
+    }
+
+    public void setScaleValue(float scaleValue) {
+        this.scaleValue = scaleValue;
+        tablesDirty = true;
+    }
+
+    public void setScaleDuration(int scaleDuration) {
+        this.scaleDuration = scaleDuration;
+        tablesDirty = true;
+    }
+
+    public void setScalePulseEnabled(boolean enabled) {
+        scalePulse = enabled;
+    }
+
+    public void setKeyframeRate(int framesPerSecond) {
+        keyframeRate = Math.max(0, framesPerSecond);
+        tablesDirty = true;
+    }
+
+    public void setSize(int width, int height, int paddingLeft, int paddingTop, int paddingRight, int paddingBottom) {
+        layoutWidth = width - paddingLeft - paddingRight;
+        layoutHeight = height - paddingTop - paddingBottom;
+        calculateCompensations();
+        int left = (horizontalCompensation / 2) + (progressWidth / 2) + paddingLeft + paddingRight;
+        int top = (verticalCompensation / 2) + (progressWidth / 2) + paddingTop + paddingBottom;
+        int right = (layoutWidth - (horizontalCompensation / 2)) - (progressWidth / 2);
+        int bottom = (layoutHeight - (verticalCompensation / 2)) - (progressWidth / 2);
+        progressLeft = left;
+        progressTop = top;
+        progressRight = right;
+        progressBottom = bottom;
+        left -= progressWidth / 2;
+        top -= progressWidth / 2;
+        right += progressWidth / 2;
+        bottom += progressWidth / 2;
+        mainLeft = left;
+        mainTop = top;
+        mainRight = right;
+        mainBottom = bottom;
+        diameter = right - left;
+        radius = diameter / 2;
+        normalTextSize = diameter * 30 / 100;
+        mediumTextSize = normalTextSize / 2.5f;
+        smallTextSize = normalTextSize / 3f;
+        hasLastDirty = false;
+        tablesDirty = true;
+    }
+
+    private void calculateCompensations() {
+        horizontalCompensation = 0;
+        verticalCompensation = 0;
+        if (layoutWidth > layoutHeight) {
+            horizontalCompensation = layoutWidth - layoutHeight;
+        }
+        if (layoutHeight > layoutWidth) {
+            verticalCompensation = layoutHeight - layoutWidth;
+        }
+    }
+
+    public void setTextHeights(int primary, int secondary, int medium, int small) {
+        primaryTextHeight = primary;
+        secondaryTextHeight = secondary;
+        mediumTextHeight = medium;
+        smallTextHeight = small;
+        tablesDirty = true;
+    }
+
+    public void start(long time) {
+        spinnerStart = time;
+        spinnerEnd = Long.MAX_VALUE;
+        resultReceived = false;
+        points = 0;
+        extras = 0;
+        total = 0;
+        targetTotal = 0;
+        counterRunning = false;
+        hasLastDirty = false;
+    }
+
+    public void setResult(long time, int points, int extras, boolean withExtras) {
+        this.points = points;
+        this.extras = extras;
+        this.withExtras = withExtras;
+        total = points;
+        resultTime = time;
+        resultReceived = true;
+        long elapsed = Math.max(0, time - spinnerStart);
+        spinnerEnd = spinnerStart + (elapsed / progressDuration + 1) * progressDuration;
+    }
+
+    public void updateResult(long time, int points, int extras) {
+        if (!resultReceived) {
+            setResult(time, points, extras, true);
+            return;
+        }
+        counterFrom = total;
+        counterStart = time;
+        counterRunning = true;
+        this.points = points;
+        this.extras = extras;
+    }
+
+    public boolean hasResult() {
+        return resultReceived;
+    }
+
+    public boolean isSpinning(long time) {
+        return time < spinnerEnd;
+    }
+
+    public boolean isFinished(long time) {
+        return resultReceived
+                && time >= spinnerEnd
+                && time - resultTime >= getResultDuration()
+                && (!counterRunning || time - counterStart >= COUNTER_DURATION);
+    }
+
+    public long getResultDuration() {
+        long duration = CIRCLE_FADE_DURATION + TEXT_FADE_DURATION;
+        if (withExtras) {
+            duration += TRANSLATION_DURATION * 2 + TRANSLATION_HOLD + scaleDuration * 2;
+        }
+        return duration;
+    }
+
+    public int compute(long time, float[] frame) {
+        if (keyframeRate > 0 && tablesDirty) {
+            buildTables();
+        }
+        if (keyframeRate > 0 && time < spinnerEnd) {
+            long elapsed = Math.max(0, time - spinnerStart) % progressDuration;
+            sampleTable(spinnerTable, SPINNER_CHANNELS, spinnerSamples, (float) elapsed / progressDuration, frame);
+        } else {
+            setArc(getProgressValue(time), frame);
+        }
+        frame[Frame.PROGRESS_LEFT] = progressLeft;
+        frame[Frame.PROGRESS_TOP] = progressTop;
+        frame[Frame.PROGRESS_RIGHT] = progressRight;
+        frame[Frame.PROGRESS_BOTTOM] = progressBottom;
+
+        int phase;
+        if (!resultReceived) {
+            phase = PHASE_SPINNER;
+            sampleSpinner(frame);
+        } else {
+            long elapsed = Math.max(0, time - resultTime);
+            phase = getResultPhase(elapsed);
+            if (keyframeRate > 0) {
+                float fraction = (float) elapsed / getResultDuration();
+                if (withExtras) {
+                    sampleTable(extrasResultTable, RESULT_CHANNELS, extrasResultSamples, fraction, frame);
+                } else {
+                    sampleTable(resultTable, RESULT_CHANNELS, resultSamples, fraction, frame);
+                }
+            } else {
+                sampleResult(elapsed, frame);
+            }
+        }
+        if (!scalePulse) {
+            frame[Frame.TEXT_SCALE] = 1f;
+        }
+        boolean merged = phase == PHASE_SCALE || phase == PHASE_SETTLED;
+        updateTotal(time, merged ? points + extras : points);
+        int offset = (int) frame[Frame.TEXT_OFFSET];
+        frame[Frame.PHASE] = phase;
+        frame[Frame.RESULT_VISIBLE] = resultReceived ? 1 : 0;
+        frame[Frame.PROGRESS_ALPHA] = 255 - frame[Frame.CIRCLE_ALPHA];
+        setTextOrigins(frame, offset);
+        setDirtyArea(frame, phase, frame[Frame.TEXT_ALPHA] > 0 ? offset : 0);
+        return phase;
+    }
+
+    private void setArc(float progressValue, float[] frame) {
+        float startAngle;
+        float sweepAngle;
+        if (progressValue > 360) {
+            startAngle = (((progressValue - 360) * 0.5f) + 90);
+            startAngle = startAngle > 360 ? startAngle - 360 : startAngle;
+            sweepAngle = ((360 - (progressValue - 360)));
+        } else {
+            startAngle = ((progressValue * 0.5f) - 90);
+            sweepAngle = progressValue;
+        }
+        frame[Frame.ARC_START] = startAngle;
+        frame[Frame.ARC_SWEEP] = sweepAngle;
+    }
+
+    private int getResultPhase(long elapsed) {
+        if (elapsed < CIRCLE_FADE_DURATION) {
+            return PHASE_CIRCLE_FADE;
+        }
+        elapsed -= CIRCLE_FADE_DURATION;
+        if (elapsed < TEXT_FADE_DURATION) {
+            return PHASE_TEXT_FADE;
+        }
+        if (!withExtras) {
+            return PHASE_SETTLED;
+        }
+        elapsed -= TEXT_FADE_DURATION;
+        if (elapsed < TRANSLATION_DURATION * 2 + TRANSLATION_HOLD) {
+            return PHASE_TRANSLATION;
+        }
+        elapsed -= TRANSLATION_DURATION * 2 + TRANSLATION_HOLD;
+        if (elapsed < scaleDuration * 2) {
+            return PHASE_SCALE;
+        }
+        return PHASE_SETTLED;
+    }
+
+    private void sampleSpinner(float[] frame) {
+        setPrimaryBounds(frame, mainLeft, mainTop, mainRight, mainBottom);
+        setSecondaryBounds(frame, mainLeft, mainRight);
+        frame[Frame.CIRCLE_ALPHA] = 0;
+        frame[Frame.TEXT_ALPHA] = 0;
+        frame[Frame.TEXT_SCALE] = 1f;
+        frame[Frame.TEXT_OFFSET] = 0;
+    }
+
+    private void sampleResult(long elapsed, float[] frame) {
+        setPrimaryBounds(frame, mainLeft, mainTop, mainRight, mainBottom);
+        setSecondaryBounds(frame, mainLeft, mainRight);
+        int circleAlpha = 255;
+        int textAlpha = 255;
+        int offset = 0;
+        float scaleFactor = 1f;
+        if (elapsed < CIRCLE_FADE_DURATION) {
+            circleAlpha = (int) (255 * elapsed / CIRCLE_FADE_DURATION);
+            textAlpha = 0;
+            offset = primaryTextHeight * 2;
+        } else {
+            elapsed -= CIRCLE_FADE_DURATION;
+            if (elapsed < TEXT_FADE_DURATION) {
+                textAlpha = (int) (255 * elapsed / TEXT_FADE_DURATION);
+                if (elapsed < TEXT_TRANSLATION_DURATION) {
+                    offset = (int) (primaryTextHeight * 2 * (1 - (float) elapsed / TEXT_TRANSLATION_DURATION));
+                }
+            } else if (withExtras) {
+                elapsed -= TEXT_FADE_DURATION;
+                if (elapsed < TRANSLATION_DURATION * 2 + TRANSLATION_HOLD) {
+                    applyTranslation(frame, elapsed);
+                } else {
+                    elapsed -= TRANSLATION_DURATION * 2 + TRANSLATION_HOLD;
+                    if (elapsed < scaleDuration * 2) {
+                        float fraction = (float) elapsed / scaleDuration;
+                        fraction = fraction > 1 ? 2 - fraction : fraction;
+                        scaleFactor = 1f + (scaleValue - 1f) * fraction;
+                        applyScale(frame, scaleFactor);
+                    }
+                }
+            }
+        }
+        frame[Frame.CIRCLE_ALPHA] = circleAlpha;
+        frame[Frame.TEXT_ALPHA] = textAlpha;
+        frame[Frame.TEXT_SCALE] = scaleFactor;
+        frame[Frame.TEXT_OFFSET] = offset;
+    }
+
+    private void buildTables() {
+        float[] row = Frame.create();
+        spinnerSamples = Math.max(2, progressDuration * keyframeRate / 1000 + 1);
+        spinnerTable = ensureCapacity(spinnerTable, spinnerSamples * SPINNER_CHANNELS.length);
+        for (int i = 0; i < spinnerSamples; i++) {
+            setArc(720 * Easing.accelerateDecelerate((float) i / (spinnerSamples - 1)), row);
+            copyRow(row, SPINNER_CHANNELS, spinnerTable, i);
+        }
+        boolean received = withExtras;
+        withExtras = false;
+        resultSamples = getResultSamples();
+        resultTable = buildResultTable(resultTable, resultSamples, row);
+        withExtras = true;
+        extrasResultSamples = getResultSamples();
+        extrasResultTable = buildResultTable(extrasResultTable, extrasResultSamples, row);
+        withExtras = received;
+        tablesDirty = false;
+    }
+
+    private int getResultSamples() {
+        return (int) Math.max(2, getResultDuration() * keyframeRate / 1000 + 1);
+    }
+
+    private float[] buildResultTable(float[] table, int samples, float[] row) {
+        long duration = getResultDuration();
+        table = ensureCapacity(table, samples * RESULT_CHANNELS.length);
+        for (int i = 0; i < samples; i++) {
+            sampleResult(duration * i / (samples - 1), row);
+            copyRow(row, RESULT_CHANNELS, table, i);
+        }
+        return table;
+    }
+
+    private static float[] ensureCapacity(float[] table, int size) {
+        return table != null && table.length >= size ? table : new float[size];
+    }
+
+    private static void copyRow(float[] row, int[] channels, float[] table, int sample) {
+        int base = sample * channels.length;
+        for (int i = 0; i < channels.length; i++) {
+            table[base + i] = row[channels[i]];
+        }
+    }
+
+    private static void sampleTable(float[] table, int[] channels, int samples, float fraction, float[] frame) {
+        float position = Math.max(0f, Math.min(1f, fraction)) * (samples - 1);
+        int index = Math.min((int) position, samples - 2);
+        float weight = position - index;
+        int base = index * channels.length;
+        int next = base + channels.length;
+        for (int i = 0; i < channels.length; i++) {
+            float from = table[base + i];
+            frame[channels[i]] = from + (table[next + i] - from) * weight;
+        }
+    }
+
+    private void updateTotal(long time, int target) {
+        targetTotal = target;
+        if (counterRunning) {
+            long elapsed = Math.max(0, time - counterStart);
+            if (elapsed < COUNTER_DURATION) {
+                total = (int) (counterFrom + ((long) target - counterFrom) * elapsed / COUNTER_DURATION);
+                return;
+            }
+            counterRunning = false;
+        }
+        total = target;
+    }
+
+    private float getProgressValue(long time) {
+        if (time >= spinnerEnd) {
+            return 720;
+        }
+        long elapsed = Math.max(0, time - spinnerStart);
+        float fraction = (float) (elapsed % progressDuration) / progressDuration;
+        return 720 * Easing.accelerateDecelerate(fraction);
+    }
+
+    private void applyTranslation(float[] frame, long elapsed) {
+        int left = (int) mainLeft;
+        int target = left - (radius * circlePercentSeparation / 100);
+        int value;
+        if (elapsed < TRANSLATION_DURATION) {
+            value = (int) (left + (target - left) * ((float) elapsed / TRANSLATION_DURATION));
+        } else if (elapsed < TRANSLATION_DURATION + TRANSLATION_HOLD) {
+            value = target;
+        } else {
+            float fraction = (float) (elapsed - TRANSLATION_DURATION - TRANSLATION_HOLD) / TRANSLATION_DURATION;
+            value = (int) (target + (left - target) * fraction);
+        }
+        int increment = left - value;
+        setPrimaryBounds(frame, value, mainTop, value + diameter, mainBottom);
+        setSecondaryBounds(frame, left + increment, mainRight + increment);
+    }
+
+    private void applyScale(float[] frame, float scaleFactor) {
+        float factor = (diameter * scaleFactor) - diameter;
+        float width = mainRight + factor - mainLeft;
+        float height = mainBottom + factor - mainTop;
+        int offsetH = (int) ((mainRight - mainLeft) - width) / 2;
+        int offsetV = (int) ((mainBottom - mainTop) - height) / 2;
+        setPrimaryBounds(frame, mainLeft + offsetH, mainTop + offsetV, mainLeft + width + offsetH, mainTop + height + offsetV);
+    }
+
+    private void setPrimaryBounds(float[] frame, float left, float top, float right, float bottom) {
+        frame[Frame.PRIMARY_LEFT] = left;
+        frame[Frame.PRIMARY_TOP] = top;
+        frame[Frame.PRIMARY_RIGHT] = right;
+        frame[Frame.PRIMARY_BOTTOM] = bottom;
+    }
+
+    private void setSecondaryBounds(float[] frame, float left, float right) {
+        frame[Frame.SECONDARY_LEFT] = left;
+        frame[Frame.SECONDARY_TOP] = mainTop;
+        frame[Frame.SECONDARY_RIGHT] = right;
+        frame[Frame.SECONDARY_BOTTOM] = mainBottom;
+    }
+
+    private void setTextOrigins(float[] frame, int offset) {
+        int primaryCenterX = (int) ((frame[Frame.PRIMARY_LEFT] + frame[Frame.PRIMARY_RIGHT]) / 2);
+        int primaryCenterY = (int) ((frame[Frame.PRIMARY_TOP] + frame[Frame.PRIMARY_BOTTOM]) / 2);
+        int secondaryCenterX = (int) ((frame[Frame.SECONDARY_LEFT] + frame[Frame.SECONDARY_RIGHT]) / 2);
+        int secondaryCenterY = (int) ((frame[Frame.SECONDARY_TOP] + frame[Frame.SECONDARY_BOTTOM]) / 2);
+        frame[Frame.PRIMARY_X] = primaryCenterX;
+        frame[Frame.TOTAL_Y] = primaryCenterY + primaryTextHeight / 3 + offset;
+        frame[Frame.POINTS_Y] = primaryCenterY + primaryTextHeight + offset;
+        frame[Frame.SECONDARY_X] = secondaryCenterX;
+        frame[Frame.EXTRAS_Y] = secondaryCenterY + secondaryTextHeight / 3;
+        frame[Frame.PLUS_Y] = secondaryCenterY - secondaryTextHeight / 2 - smallTextHeight * 1.5f;
+        frame[Frame.EXTRA_Y] = secondaryCenterY + secondaryTextHeight / 2 + smallTextHeight * 1.5f;
+        frame[Frame.POINTS_EXTRA_Y] = secondaryCenterY + secondaryTextHeight / 2 + smallTextHeight * 3f;
+    }
+
+    private void setDirtyArea(float[] frame, int phase, int offset) {
+        float halfWidth = progressWidth / 2f;
+        float left = progressLeft - halfWidth;
+        float top = progressTop - halfWidth;
+        float right = progressRight + halfWidth;
+        float bottom = progressBottom + halfWidth;
+        if (phase != PHASE_SPINNER) {
+            if (phase != PHASE_CIRCLE_FADE) {
+                left = frame[Frame.PRIMARY_LEFT];
+                top = frame[Frame.PRIMARY_TOP];
+                right = frame[Frame.PRIMARY_RIGHT];
+                bottom = frame[Frame.PRIMARY_BOTTOM];
+            }
+            left = Math.min(left, Math.min(frame[Frame.PRIMARY_LEFT], frame[Frame.SECONDARY_LEFT]));
+            top = Math.min(top, Math.min(frame[Frame.PRIMARY_TOP], frame[Frame.SECONDARY_TOP]));
+            right = Math.max(right, Math.max(frame[Frame.PRIMARY_RIGHT], frame[Frame.SECONDARY_RIGHT]));
+            bottom = Math.max(bottom, Math.max(frame[Frame.PRIMARY_BOTTOM] + offset, frame[Frame.SECONDARY_BOTTOM]));
+        }
+        frame[Frame.DIRTY_LEFT] = hasLastDirty ? Math.min(left, lastDirtyLeft) : left;
+        frame[Frame.DIRTY_TOP] = hasLastDirty ? Math.min(top, lastDirtyTop) : top;
+        frame[Frame.DIRTY_RIGHT] = hasLastDirty ? Math.max(right, lastDirtyRight) : right;
+        frame[Frame.DIRTY_BOTTOM] = hasLastDirty ? Math.max(bottom, lastDirtyBottom) : bottom;
+        lastDirtyLeft = left;
+        lastDirtyTop = top;
+        lastDirtyRight = right;
+        lastDirtyBottom = bottom;
+        hasLastDirty = true;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getTargetTotal() {
+        return targetTotal;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getExtras() {
+        return extras;
+    }
+
+    public int getDiameter() {
+        return diameter;
+    }
+
+    public float getMainLeft() {
+        return mainLeft;
+    }
+
+    public float getMainTop() {
+        return mainTop;
+    }
+
+    public float getNormalTextSize() {
+        return normalTextSize;
+    }
+
+    public float getMediumTextSize() {
+        return mediumTextSize;
+    }
+
+    public float getSmallTextSize() {
+        return smallTextSize;
+    }
+}
@@ -0,0 +1,155 @@
+package com.siziksu.acv.engine;
+
+public final class FrameGrid {
+
+    private FrameEngine[] engines = new FrameEngine[0];
+    private final float[] frame = Frame.create();
+    private final DigitBuffer totalDigits = new DigitBuffer();
+    private final DigitBuffer extrasDigits = new DigitBuffer();
+    private final FrameStyler styler = new FrameStyler();
+
+    private int columns = 4;
+    private int cellSize;
+    private int progressWidth = 20;
+    private int progressDuration = 1800;
+    private int circlePercentSeparation = 100;
+    private float scaleValue = 1f;
+    private int scaleDuration = 200;
+
+    public void setColumns(int columns) {
+        this.columns = Math.max(1, columns);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public void setProgressWidth(int progressWidth) {
+        this.progressWidth = progressWidth;
+    }
+
+    public void setProgressDuration(int progressDuration) {
+        this.progressDuration = progressDuration;
+    }
+
+    public void setCirclePercentSeparation(int circlePercentSeparation) {
+        this.circlePercentSeparation = circlePercentSeparation;
+    }
+
+    public void setScaleValue(float scaleValue) {
+        this.scaleValue = scaleValue;
+    }
+
+    public void setScaleDuration(int scaleDuration) {
+        this.scaleDuration = scaleDuration;
+    }
+
+    public void setEntryCount(long time, int count) {
+        engines = new FrameEngine[count];
+        for (int i = 0; i < count; i++) {
+            FrameEngine engine = new FrameEngine();
+            engine.setProgressWidth(progressWidth);
+            engine.setProgressDuration(progressDuration);
+            engine.setCirclePercentSeparation(circlePercentSeparation);
+            engine.setScaleValue(scaleValue);
+            engine.setScaleDuration(scaleDuration);
+            engine.start(time);
+            engines[i] = engine;
+        }
+    }
+
+    public int getEntryCount() {
+        return engines.length;
+    }
+
+    public int getRowCount() {
+        return (engines.length + columns - 1) / columns;
+    }
+
+    public void setScore(long time, int index, int points, int extras) {
+        FrameEngine engine = engines[index];
+        if (engine.hasResult()) {
+            engine.updateResult(time, points, extras);
+        } else {
+            engine.setResult(time, points, extras, extras != 0);
+        }
+    }
+
+    public DigitBuffer getTotalDigits() {
+        return totalDigits;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public boolean setWidth(int width, FramePaints paints) {
+        cellSize = width / columns;
+        if (cellSize <= 0 || engines.length == 0) {
+            return false;
+        }
+        FrameEngine first = engines[0];
+        first.setSize(cellSize, cellSize, 0, 0, 0, 0);
+        styler.setTextSizes(first.getNormalTextSize(), first.getMediumTextSize(), first.getSmallTextSize());
+        styler.applyTextSizes(paints);
+        return true;
+    }
+
+    public void setTextHeights(int primary, int medium, int small) {
+        for (FrameEngine engine : engines) {
+            engine.setSize(cellSize, cellSize, 0, 0, 0, 0);
+            engine.setTextHeights(primary, primary, medium, small);
+        }
+    }
+
+    public boolean isFinished(long time) {
+        for (FrameEngine engine : engines) {
+            if (!engine.isFinished(time)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isAnimating(long time, int left, int top, int right, int bottom) {
+        for (int i = 0; i < engines.length; i++) {
+            if (!engines[i].isFinished(time) && isCellVisible(i, left, top, right, bottom)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void draw(long time, int left, int top, int right, int bottom, CellCanvas canvas) {
+        if (cellSize <= 0) {
+            return;
+        }
+        for (int i = 0; i < engines.length; i++) {
+            if (!isCellVisible(i, left, top, right, bottom)) {
+                continue;
+            }
+            FrameEngine engine = engines[i];
+            engine.compute(time, frame);
+            styler.apply(frame, canvas);
+            totalDigits.set(engine.getTotal());
+            extrasDigits.set(engine.getExtras());
+            canvas.beginCell((i % columns) * cellSize, (i / columns) * cellSize);
+            FrameDrawer.draw(frame, totalDigits, extrasDigits, canvas);
+            canvas.endCell();
+        }
+    }
+
+    private boolean isCellVisible(int index, int left, int top, int right, int bottom) {
+        int cellLeft = (index % columns) * cellSize;
+        int cellTop = (index / columns) * cellSize;
+        return cellLeft - cellSize < right && cellLeft + cellSize * 2 > left
+                && cellTop - cellSize < bottom && cellTop + cellSize * 2 > top;
+    }
+
+    public interface CellCanvas extends FrameCanvas, FramePaints {
+
+        void beginCell(int left, int top);
+
+        void endCell();
+    }
+}
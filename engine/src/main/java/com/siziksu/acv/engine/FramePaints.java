@@ -0,0 +1,10 @@
+package com.siziksu.acv.engine;
+
+public interface FramePaints {
+
+    void setAlpha(int paint, int alpha);
+
+    void setTextSize(int paint, float size);
+
+    void setAntiAlias(int paint, boolean antiAlias);
+}
@@ -0,0 +1,539 @@
+package com.siziksu.acv.engine;
+
+public final class FramePresenter {
+
+    public static final int FRAMES_PER_SECOND = 60;
+
+    private static final int REDUCED_FRAME_RATE = 30;
+    private static final int FRAME_RATE_TOLERANCE = 4;
+
+    private static int runningTimelines;
+    private static long totalFramesSaved;
+    private static boolean metricsEnabled;
+    private static final AnimationMetrics aggregateMetrics = new AnimationMetrics();
+
+    private final Host host;
+    private final FrameEngine engine = new FrameEngine();
+    private final float[] frame = Frame.create();
+    private final FrameStyler styler = new FrameStyler();
+    private FramePaints paints;
+    private boolean engineStarted;
+    private boolean setUp;
+    private boolean layoutDirty = true;
+    private long clockTime;
+
+    private boolean timelineRunning;
+    private boolean timelineSuspended;
+    private long suspendedAt;
+    private long framesSaved;
+
+    private AnimationMetrics metrics;
+    private AnimationMetrics.Listener metricsListener;
+    private long lastFrameNanos;
+
+    private boolean pendingUpdate;
+    private int pendingPoints;
+    private int pendingExtras;
+    private final PointsMailbox mailbox = new PointsMailbox();
+
+    private boolean resultCache;
+    private boolean resultSettled;
+
+    private boolean externalSpinner;
+    private long spinnerStartedAt;
+    private long spinnerClockBase;
+
+    private int maxFrameRate;
+    private boolean adaptiveQuality;
+    private final QualityGovernor qualityGovernor = new QualityGovernor();
+    private long lastCallbackTime = -1;
+    private long lastRenderedTime = -1;
+    private long frameIntervalNanos = AnimationMetrics.FRAME_INTERVAL_NANOS;
+
+    private final DigitBuffer totalDigits = new DigitBuffer();
+    private final DigitBuffer extrasDigits = new DigitBuffer();
+    private boolean digitRollEnabled;
+    private final DigitRoll digitRoll = new DigitRoll();
+
+    public FramePresenter(Host host) {
+        this.host = host;
+    }
+
+    public void setPaints(FramePaints paints) {
+        this.paints = paints;
+    }
+
+    public FrameEngine getEngine() {
+        return engine;
+    }
+
+    public float[] getFrame() {
+        return frame;
+    }
+
+    public DigitBuffer getTotalDigits() {
+        return totalDigits;
+    }
+
+    public DigitBuffer getExtrasDigits() {
+        return extrasDigits;
+    }
+
+    public DigitRoll getDigitRoll() {
+        return digitRoll;
+    }
+
+    public float getTextScale() {
+        return styler.getTextScale();
+    }
+
+    public long getClockTime() {
+        return clockTime;
+    }
+
+    public boolean isSetUp() {
+        return setUp;
+    }
+
+    public void invalidateLayout() {
+        layoutDirty = true;
+    }
+
+    public boolean isLayoutDirty() {
+        return layoutDirty;
+    }
+
+    public void setSize(int width, int height, int paddingLeft, int paddingTop, int paddingRight, int paddingBottom) {
+        engine.setSize(width, height, paddingLeft, paddingTop, paddingRight, paddingBottom);
+        styler.setTextSizes(engine.getNormalTextSize(), engine.getMediumTextSize(), engine.getSmallTextSize());
+        styler.applyTextSizes(paints);
+    }
+
+    public void setTextHeights(int primary, int secondary, int medium, int small) {
+        engine.setTextHeights(primary, secondary, medium, small);
+    }
+
+    public void layout() {
+        setUp = true;
+        layoutDirty = false;
+        applyQuality();
+        startEngine();
+        applyFrame(engine.compute(clockTime, frame));
+    }
+
+    public void play() {
+        if (!engine.isFinished(clockTime)) {
+            startTimeline();
+        }
+    }
+
+    private void startEngine() {
+        if (!engineStarted) {
+            engine.start(clockTime);
+            engineStarted = true;
+        }
+    }
+
+    public void draw(FrameCanvas canvas) {
+        if (resultSettled && resultCache && canvas.drawCachedResult()) {
+            return;
+        }
+        if (!externalSpinner) {
+            FrameDrawer.drawProgress(frame, canvas);
+        }
+        if (frame[Frame.RESULT_VISIBLE] != 0) {
+            drawResult(canvas);
+        }
+    }
+
+    public void drawResult(FrameCanvas canvas) {
+        FrameDrawer.drawResult(frame, totalDigits, extrasDigits, digitRollEnabled ? digitRoll : null, canvas);
+    }
+
+    public boolean isResultSettled() {
+        return resultSettled;
+    }
+
+    public boolean startExternalSpinner() {
+        externalSpinner = true;
+        if (engine.hasResult()) {
+            return false;
+        }
+        stopTimeline();
+        engine.start(clockTime);
+        restartSpinnerClock();
+        return true;
+    }
+
+    public void stopExternalSpinner() {
+        syncSpinnerClock();
+        externalSpinner = false;
+    }
+
+    private void restartSpinnerClock() {
+        spinnerClockBase = clockTime;
+        spinnerStartedAt = host.uptimeMillis();
+    }
+
+    private void syncSpinnerClock() {
+        if (externalSpinner && !timelineRunning && !engine.hasResult()) {
+            clockTime = spinnerClockBase + host.uptimeMillis() - spinnerStartedAt;
+        }
+    }
+
+    public static void setMetricsEnabled(boolean enabled) {
+        metricsEnabled = enabled;
+    }
+
+    public static boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public static AnimationMetrics getAggregateMetrics() {
+        return aggregateMetrics;
+    }
+
+    public AnimationMetrics getMetrics() {
+        if (metrics == null) {
+            metrics = new AnimationMetrics();
+        }
+        return metrics;
+    }
+
+    public void setMetricsListener(AnimationMetrics.Listener listener) {
+        metricsListener = listener;
+    }
+
+    public void recordLayout(long nanos) {
+        getMetrics().recordLayout(nanos);
+        aggregateMetrics.recordLayout(nanos);
+    }
+
+    public void recordDraw(long nanos) {
+        getMetrics().recordDraw(nanos);
+        aggregateMetrics.recordDraw(nanos);
+    }
+
+    public static int getRunningTimelineCount() {
+        return runningTimelines;
+    }
+
+    public static long getTotalFramesSaved() {
+        return totalFramesSaved;
+    }
+
+    public long getFramesSaved() {
+        return framesSaved;
+    }
+
+    public boolean isTimelineRunning() {
+        return timelineRunning;
+    }
+
+    public boolean isTimelineSuspended() {
+        return timelineSuspended;
+    }
+
+    public void updateSuspension() {
+        if (timelineRunning && !host.canAnimate()) {
+            stopTimeline();
+            suspendTimeline();
+        } else if (timelineSuspended && host.canAnimate()) {
+            long saved = (host.uptimeMillis() - suspendedAt) * FRAMES_PER_SECOND / 1000;
+            framesSaved += saved;
+            totalFramesSaved += saved;
+            timelineSuspended = false;
+            startTimeline();
+        }
+    }
+
+    private void suspendTimeline() {
+        if (!timelineSuspended) {
+            timelineSuspended = true;
+            suspendedAt = host.uptimeMillis();
+        }
+    }
+
+    public void reset() {
+        pendingUpdate = false;
+        mailbox.seed(0, 0);
+        if (!engineStarted) {
+            return;
+        }
+        syncSpinnerClock();
+        engine.start(clockTime);
+        if (!setUp) {
+            return;
+        }
+        applyFrame(engine.compute(clockTime, frame));
+        if (externalSpinner) {
+            stopTimeline();
+            restartSpinnerClock();
+        }
+        startTimeline();
+        host.invalidate();
+    }
+
+    public void setMaxFrameRate(int framesPerSecond) {
+        maxFrameRate = Math.max(0, framesPerSecond);
+    }
+
+    public int getMaxFrameRate() {
+        return maxFrameRate;
+    }
+
+    public void setAdaptiveQualityEnabled(boolean enabled) {
+        if (adaptiveQuality == enabled) {
+            return;
+        }
+        adaptiveQuality = enabled;
+        qualityGovernor.reset();
+        lastCallbackTime = -1;
+        if (setUp) {
+            applyQuality();
+            host.invalidate();
+        }
+    }
+
+    public boolean isAdaptiveQualityEnabled() {
+        return adaptiveQuality;
+    }
+
+    public int getQualityLevel() {
+        return adaptiveQuality ? qualityGovernor.getLevel() : QualityGovernor.LEVEL_FULL;
+    }
+
+    private void applyQuality() {
+        int level = getQualityLevel();
+        paints.setAntiAlias(FrameCanvas.PROGRESS, level < QualityGovernor.LEVEL_NO_ANTI_ALIAS);
+        engine.setScalePulseEnabled(level < QualityGovernor.LEVEL_NO_SCALE_PULSE);
+    }
+
+    private boolean skipFrame(long time) {
+        if (adaptiveQuality) {
+            if (lastCallbackTime >= 0 && qualityGovernor.record((time - lastCallbackTime) * 1_000_000L)) {
+                applyQuality();
+            }
+            lastCallbackTime = time;
+        }
+        int frameRate = frame[Frame.PHASE] == FrameEngine.PHASE_SPINNER ? maxFrameRate : 0;
+        if (getQualityLevel() >= QualityGovernor.LEVEL_REDUCED_FRAME_RATE) {
+            frameRate = frameRate > 0 ? Math.min(frameRate, REDUCED_FRAME_RATE) : REDUCED_FRAME_RATE;
+        }
+        frameIntervalNanos = frameRate > 0 ? 1_000_000_000L / frameRate : AnimationMetrics.FRAME_INTERVAL_NANOS;
+        if (frameRate > 0 && lastRenderedTime >= 0 && time - lastRenderedTime < 1000 / frameRate - FRAME_RATE_TOLERANCE) {
+            return true;
+        }
+        lastRenderedTime = time;
+        return false;
+    }
+
+    public void setDigitRollEnabled(boolean enabled) {
+        digitRollEnabled = enabled;
+        digitRoll.set(totalDigits.getValue());
+        host.invalidate();
+    }
+
+    public boolean isDigitRollEnabled() {
+        return digitRollEnabled;
+    }
+
+    public void setResultCacheEnabled(boolean enabled) {
+        resultCache = enabled;
+        host.invalidate();
+    }
+
+    public boolean isResultCacheEnabled() {
+        return resultCache;
+    }
+
+    public boolean onFrame(long time) {
+        if (skipFrame(time)) {
+            return false;
+        }
+        long start = metricsEnabled ? System.nanoTime() : 0;
+        clockTime = time;
+        if (pendingUpdate) {
+            pendingUpdate = false;
+            engine.updateResult(time, pendingPoints, pendingExtras);
+        }
+        int phase = engine.compute(time, frame);
+        applyFrame(phase);
+        if (metricsEnabled) {
+            recordFrame(start, phase);
+        }
+        boolean finished = isFinished();
+        if (finished) {
+            stopTimeline();
+        }
+        boolean invalidated = false;
+        if (host.isShown() && (!externalSpinner || phase != FrameEngine.PHASE_SPINNER)) {
+            invalidateFrame();
+            invalidated = true;
+        }
+        if (finished) {
+            host.onAnimationEnd();
+        }
+        return invalidated;
+    }
+
+    public boolean isFinished() {
+        return engine.isFinished(clockTime) && !digitRoll.isRunning();
+    }
+
+    private void recordFrame(long start, int phase) {
+        AnimationMetrics frameMetrics = getMetrics();
+        long duration = System.nanoTime() - start;
+        frameMetrics.recordUpdate(duration);
+        aggregateMetrics.recordUpdate(duration);
+        if (lastFrameNanos != 0) {
+            frameMetrics.recordFrameInterval(phase, start - lastFrameNanos, frameIntervalNanos);
+            aggregateMetrics.recordFrameInterval(phase, start - lastFrameNanos, frameIntervalNanos);
+        }
+        lastFrameNanos = start;
+        frameMetrics.setAnimatorCount(timelineRunning ? 1 : 0);
+        aggregateMetrics.setAnimatorCount(runningTimelines);
+        if (metricsListener != null) {
+            metricsListener.onFrameRecorded(frameMetrics, phase);
+        }
+    }
+
+    private void applyFrame(int phase) {
+        styler.apply(frame, paints);
+        if (externalSpinner && phase != FrameEngine.PHASE_SPINNER) {
+            host.fadeSpinner(engine.isSpinning(clockTime) ? (int) frame[Frame.PROGRESS_ALPHA] : 0);
+        }
+        extrasDigits.set(engine.getExtras());
+        if (digitRollEnabled) {
+            updateDigitRoll((int) frame[Frame.TEXT_ALPHA]);
+        } else {
+            totalDigits.set(engine.getTotal());
+        }
+        resultSettled = isFinished();
+    }
+
+    private void updateDigitRoll(int textAlpha) {
+        int total = engine.getTargetTotal();
+        totalDigits.set(total);
+        if (total != digitRoll.getValue()) {
+            if (textAlpha == 0) {
+                digitRoll.set(total);
+            } else {
+                digitRoll.rollTo(clockTime, total);
+            }
+        }
+        digitRoll.update(clockTime);
+    }
+
+    private void invalidateFrame() {
+        host.invalidate(
+                (int) Math.floor(frame[Frame.DIRTY_LEFT]),
+                (int) Math.floor(frame[Frame.DIRTY_TOP]),
+                (int) Math.ceil(frame[Frame.DIRTY_RIGHT]),
+                (int) Math.ceil(frame[Frame.DIRTY_BOTTOM])
+        );
+    }
+
+    public void startTimeline() {
+        if (timelineRunning || !setUp || (externalSpinner && !engine.hasResult())) {
+            return;
+        }
+        if (!host.canAnimate()) {
+            suspendTimeline();
+            return;
+        }
+        timelineRunning = true;
+        runningTimelines++;
+        host.startTimeline(clockTime);
+    }
+
+    public void stopTimeline() {
+        if (!timelineRunning) {
+            return;
+        }
+        timelineRunning = false;
+        runningTimelines--;
+        lastFrameNanos = 0;
+        lastCallbackTime = -1;
+        lastRenderedTime = -1;
+        qualityGovernor.restart();
+        host.stopTimeline();
+    }
+
+    public void onPointsReceived(int points) {
+        if (!engine.hasResult()) {
+            mailbox.seed(points, 0);
+        }
+        receivePoints(points, 0, false);
+    }
+
+    public void onPointsReceived(int points, int extras) {
+        if (!engine.hasResult()) {
+            mailbox.seed(points, extras);
+        }
+        receivePoints(points, extras, true);
+    }
+
+    public void updatePoints(int points, int extras) {
+        mailbox.seed(points, extras);
+        applyPoints(points, extras);
+    }
+
+    public boolean postPoints(int points, int extras) {
+        return mailbox.post(points, extras);
+    }
+
+    public boolean postPointsDelta(int pointsDelta, int extrasDelta) {
+        return mailbox.add(pointsDelta, extrasDelta);
+    }
+
+    public void consumeMailbox() {
+        if (mailbox.consume()) {
+            applyPoints(mailbox.getPoints(), mailbox.getExtras());
+        }
+    }
+
+    private void applyPoints(int points, int extras) {
+        if (!engine.hasResult()) {
+            receivePoints(points, extras, extras != 0);
+            return;
+        }
+        pendingPoints = points;
+        pendingExtras = extras;
+        pendingUpdate = true;
+        startTimeline();
+    }
+
+    private void receivePoints(int points, int extras, boolean withExtras) {
+        if (engine.hasResult()) {
+            return;
+        }
+        startEngine();
+        syncSpinnerClock();
+        engine.setResult(clockTime, points, extras, withExtras);
+        extrasDigits.set(engine.getExtras());
+        totalDigits.set(engine.getTotal());
+        startTimeline();
+    }
+
+    public interface Host {
+
+        boolean canAnimate();
+
+        boolean isShown();
+
+        void startTimeline(long clockTime);
+
+        void stopTimeline();
+
+        void invalidate();
+
+        void invalidate(int left, int top, int right, int bottom);
+
+        void fadeSpinner(int alpha);
+
+        void onAnimationEnd();
+
+        long uptimeMillis();
+    }
+}
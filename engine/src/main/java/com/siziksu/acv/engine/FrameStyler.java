@@ -0,0 +1,45 @@
+package com.siziksu.acv.engine;
+
+public final class FrameStyler {
+
+    private float normalTextSize;
+    private float mediumTextSize;
+    private float smallTextSize;
+    private float textScale = 1f;
+
+    public void setTextSizes(float normal, float medium, float small) {
+        normalTextSize = normal;
+        mediumTextSize = medium;
+        smallTextSize = small;
+    }
+
+    public void applyTextSizes(FramePaints paints) {
+        paints.setTextSize(FrameCanvas.PRIMARY_TEXT, normalTextSize);
+        paints.setTextSize(FrameCanvas.SECONDARY_TEXT, normalTextSize);
+        paints.setTextSize(FrameCanvas.MEDIUM_TEXT, mediumTextSize);
+        paints.setTextSize(FrameCanvas.SMALL_TEXT, smallTextSize);
+        textScale = 1f;
+    }
+
+    public void apply(float[] frame, FramePaints paints) {
+        int circleAlpha = (int) frame[Frame.CIRCLE_ALPHA];
+        int textAlpha = (int) frame[Frame.TEXT_ALPHA];
+        float scaleFactor = frame[Frame.TEXT_SCALE];
+        paints.setAlpha(FrameCanvas.PROGRESS, (int) frame[Frame.PROGRESS_ALPHA]);
+        paints.setAlpha(FrameCanvas.PRIMARY_CIRCLE, circleAlpha);
+        paints.setAlpha(FrameCanvas.SECONDARY_CIRCLE, circleAlpha);
+        paints.setAlpha(FrameCanvas.PRIMARY_TEXT, textAlpha);
+        paints.setAlpha(FrameCanvas.SECONDARY_TEXT, textAlpha);
+        paints.setAlpha(FrameCanvas.MEDIUM_TEXT, textAlpha);
+        paints.setAlpha(FrameCanvas.SMALL_TEXT, textAlpha);
+        if (scaleFactor != textScale) {
+            textScale = scaleFactor;
+            paints.setTextSize(FrameCanvas.PRIMARY_TEXT, normalTextSize * scaleFactor);
+            paints.setTextSize(FrameCanvas.MEDIUM_TEXT, mediumTextSize * scaleFactor);
+        }
+    }
+
+    public float getTextScale() {
+        return textScale;
+    }
+}
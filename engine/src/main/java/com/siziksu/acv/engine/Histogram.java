@@ -0,0 +1,84 @@
+package com.siziksu.acv.engine;
+
+public final class Histogram {
+
+    private static final long[] UPPER_BOUNDS_NANOS = {
+            250_000L,
+            500_000L,
+            1_000_000L,
+            2_000_000L,
+            4_000_000L,
+            8_000_000L,
+            16_666_667L,
+            33_333_333L,
+            66_666_667L,
+            Long.MAX_VALUE
+    };
+
+    private final long[] counts = new long[UPPER_BOUNDS_NANOS.length];
+    private long count;
+    private long sum;
+    private long max;
+
+    public void record(long nanos) {
+        int bucket = 0;
+        while (nanos > UPPER_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        count++;
+        sum += nanos;
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    public long getBucketUpperBound(int bucket) {
+        return UPPER_BOUNDS_NANOS[bucket];
+    }
+
+    public long getBucket(int bucket) {
+        return counts[bucket];
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public long getPercentileUpperBound(float percentile) {
+        long threshold = (long) Math.ceil(count * percentile / 100f);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold && seen > 0) {
+                return Math.min(UPPER_BOUNDS_NANOS[i], max);
+            }
+        }
+        return 0;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+}
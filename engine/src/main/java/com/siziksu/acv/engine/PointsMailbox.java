@@ -0,0 +1,62 @@
+package com.siziksu.acv.engine;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class PointsMailbox {
+
+    private final AtomicLong values = new AtomicLong();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private int points;
+    private int extras;
+
+    public boolean post(int points, int extras) {
+        values.set(pack(points, extras));
+        return !pending.getAndSet(true);
+    }
+
+    public void seed(int points, int extras) {
+        pending.set(false);
+        values.set(pack(points, extras));
+    }
+
+    public boolean add(int pointsDelta, int extrasDelta) {
+        long current;
+        long next;
+        do {
+            current = values.get();
+            next = pack(unpackPoints(current) + pointsDelta, unpackExtras(current) + extrasDelta);
+        } while (!values.compareAndSet(current, next));
+        return !pending.getAndSet(true);
+    }
+
+    public boolean consume() {
+        if (!pending.getAndSet(false)) {
+            return false;
+        }
+        long snapshot = values.get();
+        points = unpackPoints(snapshot);
+        extras = unpackExtras(snapshot);
+        return true;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getExtras() {
+        return extras;
+    }
+
+    private static long pack(int points, int extras) {
+        return ((long) points << 32) | (extras & 0xFFFFFFFFL);
+    }
+
+    private static int unpackPoints(long value) {
+        return (int) (value >> 32);
+    }
+
+    private static int unpackExtras(long value) {
+        return (int) value;
+    }
+}
@@ -0,0 +1,74 @@
+package com.siziksu.acv.engine;
+
+public final class QualityGovernor {
+
+    public static final int LEVEL_FULL = 0;
+    public static final int LEVEL_REDUCED_FRAME_RATE = 1;
+    public static final int LEVEL_NO_ANTI_ALIAS = 2;
+    public static final int LEVEL_NO_SCALE_PULSE = 3;
+
+    private static final float OVER_BUDGET = 1.5f;
+    private static final float UNDER_BUDGET = 1.1f;
+    private static final int DEGRADE_FRAMES = 30;
+    private static final int RECOVER_FRAMES = 120;
+    private static final int AVERAGE_WEIGHT = 8;
+
+    private long budgetNanos = AnimationMetrics.FRAME_INTERVAL_NANOS;
+    private long averageNanos;
+    private int level;
+    private int overBudgetFrames;
+    private int underBudgetFrames;
+
+    public void setBudget(long budgetNanos) {
+        this.budgetNanos = Math.max(1, budgetNanos);
+    }
+
+    public long getBudget() {
+        return budgetNanos;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public long getAverageFrameInterval() {
+        return averageNanos;
+    }
+
+    public boolean record(long intervalNanos) {
+        averageNanos = averageNanos == 0 ? intervalNanos : averageNanos + (intervalNanos - averageNanos) / AVERAGE_WEIGHT;
+        if (averageNanos > budgetNanos * OVER_BUDGET) {
+            underBudgetFrames = 0;
+            if (++overBudgetFrames >= DEGRADE_FRAMES && level < LEVEL_NO_SCALE_PULSE) {
+                setLevel(level + 1);
+                return true;
+            }
+        } else if (averageNanos < budgetNanos * UNDER_BUDGET) {
+            overBudgetFrames = 0;
+            if (++underBudgetFrames >= RECOVER_FRAMES && level > LEVEL_FULL) {
+                setLevel(level - 1);
+                return true;
+            }
+        } else {
+            overBudgetFrames = 0;
+            underBudgetFrames = 0;
+        }
+        return false;
+    }
+
+    public void restart() {
+        averageNanos = 0;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+    }
+
+    public void reset() {
+        restart();
+        level = LEVEL_FULL;
+    }
+
+    private void setLevel(int level) {
+        this.level = level;
+        restart();
+    }
+}
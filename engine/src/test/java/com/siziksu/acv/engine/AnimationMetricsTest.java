@@ -0,0 +1,29 @@
+package com.siziksu.acv.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AnimationMetricsTest {
+
+    private static final long HALF_RATE = AnimationMetrics.FRAME_INTERVAL_NANOS * 2;
+
+    @Test
+    public void countsDroppedFramesAgainstSixtyHertzByDefault() {
+        AnimationMetrics metrics = new AnimationMetrics();
+        metrics.recordFrameInterval(FrameEngine.PHASE_SPINNER, AnimationMetrics.FRAME_INTERVAL_NANOS);
+        metrics.recordFrameInterval(FrameEngine.PHASE_SPINNER, HALF_RATE);
+        assertEquals(1, metrics.getDroppedFrames(FrameEngine.PHASE_SPINNER));
+    }
+
+    @Test
+    public void countsDroppedFramesAgainstTheTargetInterval() {
+        AnimationMetrics metrics = new AnimationMetrics();
+        for (int i = 0; i < 30; i++) {
+            metrics.recordFrameInterval(FrameEngine.PHASE_SPINNER, HALF_RATE, HALF_RATE);
+        }
+        assertEquals(0, metrics.getDroppedFrames(FrameEngine.PHASE_SPINNER));
+        metrics.recordFrameInterval(FrameEngine.PHASE_SPINNER, HALF_RATE * 2, HALF_RATE);
+        assertEquals(1, metrics.getDroppedFrames(FrameEngine.PHASE_SPINNER));
+    }
+}
@@ -0,0 +1,144 @@
+package com.siziksu.acv.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public class FrameAllocationTest {
+
+    private static final int SIZE = 330;
+    private static final int FRAME_MILLIS = 16;
+    private static final int WARM_UP_RUNS = 20;
+
+    private final float[] frame = Frame.create();
+    private final DigitBuffer total = new DigitBuffer();
+    private final DigitBuffer extras = new DigitBuffer();
+    private final FrameStyler styler = new FrameStyler();
+    private final NoOpCanvas canvas = new NoOpCanvas();
+    private com.sun.management.ThreadMXBean threads;
+
+    @Before
+    public void setUp() {
+        Object bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void fullAnimationDoesNotAllocate() {
+        FrameEngine engine = createEngine(0);
+        assertNoAllocation(engine);
+    }
+
+    @Test
+    public void keyframedAnimationDoesNotAllocate() {
+        FrameEngine engine = createEngine(60);
+        assertNoAllocation(engine);
+    }
+
+    @Test
+    public void keyframedAnimationSwitchingExtrasDoesNotAllocate() {
+        FrameEngine engine = createEngine(60);
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            runAnimation(engine, true);
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        runAnimation(engine, false);
+        runAnimation(engine, true);
+        long after = threads.getThreadAllocatedBytes(thread);
+        assertEquals("bytes allocated switching extras", 0, after - before);
+    }
+
+    private void assertNoAllocation(FrameEngine engine) {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            runAnimation(engine, true);
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        int phases = runAnimation(engine, true);
+        long after = threads.getThreadAllocatedBytes(thread);
+        assertEquals("bytes allocated by one animation", 0, after - before);
+        assertEquals("phases reached", (1 << FrameEngine.PHASE_COUNT) - 1, phases);
+    }
+
+    private int runAnimation(FrameEngine engine, boolean withExtras) {
+        int phases = 0;
+        engine.start(0);
+        long end = 12000;
+        for (long time = 0; time < end; time += FRAME_MILLIS) {
+            if (!engine.hasResult() && time >= 1000) {
+                engine.setResult(time, 1315, 725, withExtras);
+            } else if (time == 6000) {
+                engine.updateResult(time, 1320, 730);
+            }
+            phases |= 1 << engine.compute(time, frame);
+            styler.apply(frame, canvas);
+            total.set(engine.getTotal());
+            extras.set(engine.getExtras());
+            FrameDrawer.draw(frame, total, extras, canvas);
+        }
+        return phases;
+    }
+
+    private static FrameEngine createEngine(int keyframeRate) {
+        FrameEngine engine = new FrameEngine();
+        engine.setProgressWidth(30);
+        engine.setScaleValue(1.25f);
+        engine.setKeyframeRate(keyframeRate);
+        engine.setSize(SIZE, SIZE, 0, 0, 0, 0);
+        engine.setTextHeights(70, 70, 25, 20);
+        return engine;
+    }
+
+    private static final class NoOpCanvas implements FrameCanvas, FramePaints {
+
+        private float checksum;
+
+        @Override
+        public void drawArc(int paint, float left, float top, float right, float bottom, float startAngle, float sweepAngle) {
+            checksum += left + top + right + bottom + startAngle + sweepAngle;
+        }
+
+        @Override
+        public void drawText(int paint, char[] text, int start, int length, float x, float y) {
+            checksum += text[start] + length + x + y;
+        }
+
+        @Override
+        public void drawText(int paint, String text, float x, float y) {
+            checksum += text.length() + x + y;
+        }
+
+        @Override
+        public void drawDigitRoll(int paint, DigitRoll roll, float x, float y) {
+            checksum += roll.getPosition(0) + x + y;
+        }
+
+        @Override
+        public boolean drawCachedResult() {
+            return false;
+        }
+
+        @Override
+        public void setAlpha(int paint, int alpha) {
+            checksum += alpha;
+        }
+
+        @Override
+        public void setTextSize(int paint, float size) {
+            checksum += size;
+        }
+
+        @Override
+        public void setAntiAlias(int paint, boolean antiAlias) {
+            checksum += antiAlias ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.siziksu.acv.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrameClockTest {
+
+    private final FrameClock clock = new FrameClock();
+
+    @Test
+    public void countsOneFrameAndEveryInvalidation() {
+        for (int i = 0; i < 500; i++) {
+            final boolean invalidates = i % 5 != 0;
+            clock.register(frameTimeNanos -> invalidates);
+        }
+        assertTrue(clock.doFrame(16_000_000L));
+        assertEquals(1, clock.getFrameCount());
+        assertEquals(400, clock.getInvalidationCount());
+    }
+
+    @Test
+    public void registersEachClientOnce() {
+        FrameClock.Client client = frameTimeNanos -> true;
+        clock.register(client);
+        clock.register(client);
+        assertEquals(1, clock.getClientCount());
+    }
+
+    @Test
+    public void clientsCanLeaveDuringAFrame() {
+        FrameClock.Client[] clients = new FrameClock.Client[3];
+        for (int i = 0; i < clients.length; i++) {
+            final int index = i;
+            clients[i] = frameTimeNanos -> {
+                clock.unregister(clients[index]);
+                return true;
+            };
+            clock.register(clients[i]);
+        }
+        assertFalse(clock.doFrame(16_000_000L));
+        assertEquals(3, clock.getInvalidationCount());
+        assertEquals(0, clock.getClientCount());
+    }
+}
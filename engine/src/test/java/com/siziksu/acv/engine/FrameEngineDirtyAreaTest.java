@@ -0,0 +1,154 @@
+package com.siziksu.acv.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrameEngineDirtyAreaTest {
+
+    private static final int SIZE = 330;
+    private static final int PADDING = 24;
+    private static final int PROGRESS_WIDTH = 30;
+    private static final long RESULT_TIME = 1000;
+    private static final int FRAME_MILLIS = 16;
+
+    private final float[] frame = Frame.create();
+    private final float[] drawn = new float[4];
+    private final float[] previous = new float[4];
+    private FrameEngine engine;
+
+    @Before
+    public void setUp() {
+        engine = new FrameEngine();
+        engine.setProgressWidth(PROGRESS_WIDTH);
+        engine.setCirclePercentSeparation(90);
+        engine.setScaleValue(1.25f);
+        engine.setSize(SIZE, SIZE, PADDING, PADDING, PADDING, PADDING);
+        engine.setTextHeights(70, 70, 25, 20);
+        engine.start(0);
+    }
+
+    @Test
+    public void spinnerInvalidatesOnlyTheRing() {
+        engine.compute(0, frame);
+        float half = PROGRESS_WIDTH / 2f;
+        assertEquals(frame[Frame.PROGRESS_LEFT] - half, frame[Frame.DIRTY_LEFT], 0f);
+        assertEquals(frame[Frame.PROGRESS_TOP] - half, frame[Frame.DIRTY_TOP], 0f);
+        assertEquals(frame[Frame.PROGRESS_RIGHT] + half, frame[Frame.DIRTY_RIGHT], 0f);
+        assertEquals(frame[Frame.PROGRESS_BOTTOM] + half, frame[Frame.DIRTY_BOTTOM], 0f);
+        assertTrue(getDirtyArea() < SIZE * SIZE);
+    }
+
+    @Test
+    public void everyPhaseCoversWhatItDraws() {
+        boolean[] seen = runAnimation(true);
+        for (int phase = 0; phase < FrameEngine.PHASE_COUNT; phase++) {
+            assertTrue("phase " + phase + " not reached", seen[phase]);
+        }
+    }
+
+    @Test
+    public void everyPhaseCoversWhatThePreviousFrameDrew() {
+        runAnimation(false);
+    }
+
+    @Test
+    public void translationGrowsTheRegionToTheLeft() {
+        engine.setResult(RESULT_TIME, 1315, 2040, true);
+        long translation = RESULT_TIME + FrameEngine.CIRCLE_FADE_DURATION + FrameEngine.TEXT_FADE_DURATION;
+        engine.compute(translation - FRAME_MILLIS, frame);
+        float settledLeft = frame[Frame.DIRTY_LEFT];
+        engine.compute(translation + FrameEngine.TRANSLATION_DURATION, frame);
+        assertEquals(FrameEngine.PHASE_TRANSLATION, (int) frame[Frame.PHASE]);
+        assertTrue(frame[Frame.DIRTY_LEFT] < settledLeft);
+        assertTrue(frame[Frame.DIRTY_LEFT] <= frame[Frame.PRIMARY_LEFT]);
+    }
+
+    @Test
+    public void restartDropsThePreviousRegion() {
+        engine.setResult(RESULT_TIME, 1315, 2040, true);
+        long translation = RESULT_TIME + FrameEngine.CIRCLE_FADE_DURATION + FrameEngine.TEXT_FADE_DURATION;
+        engine.compute(translation + FrameEngine.TRANSLATION_DURATION, frame);
+        float translatedLeft = frame[Frame.DIRTY_LEFT];
+        engine.start(translation);
+        engine.compute(translation, frame);
+        assertEquals(FrameEngine.PHASE_SPINNER, (int) frame[Frame.PHASE]);
+        assertTrue(frame[Frame.DIRTY_LEFT] > translatedLeft);
+        assertEquals(frame[Frame.PROGRESS_LEFT] - PROGRESS_WIDTH / 2f, frame[Frame.DIRTY_LEFT], 0f);
+    }
+
+    @Test
+    public void resizeDropsThePreviousRegion() {
+        engine.compute(0, frame);
+        engine.setSize(SIZE * 2, SIZE * 2, PADDING, PADDING, PADDING, PADDING);
+        engine.setSize(SIZE, SIZE, PADDING, PADDING, PADDING, PADDING);
+        engine.compute(FRAME_MILLIS, frame);
+        engine.setSize(SIZE / 2, SIZE / 2, 0, 0, 0, 0);
+        engine.compute(FRAME_MILLIS * 2, frame);
+        assertFalse(frame[Frame.DIRTY_RIGHT] > SIZE / 2);
+    }
+
+    private boolean[] runAnimation(boolean current) {
+        boolean[] seen = new boolean[FrameEngine.PHASE_COUNT];
+        boolean hasPrevious = false;
+        for (long time = 0; time < 9000; time += FRAME_MILLIS) {
+            if (time >= RESULT_TIME && !engine.hasResult()) {
+                engine.setResult(time, 1315, 2040, true);
+            }
+            int phase = engine.compute(time, frame);
+            seen[phase] = true;
+            if (current) {
+                assertCovered(phase, time, drawn);
+            } else if (hasPrevious) {
+                assertCovered(phase, time, previous);
+            }
+            getDrawnBounds(drawn);
+            System.arraycopy(drawn, 0, previous, 0, drawn.length);
+            hasPrevious = true;
+        }
+        return seen;
+    }
+
+    private void assertCovered(int phase, long time, float[] bounds) {
+        if (bounds == drawn) {
+            getDrawnBounds(drawn);
+        }
+        String message = "phase " + phase + " at " + time + " ms";
+        assertTrue(message, frame[Frame.DIRTY_LEFT] <= bounds[0]);
+        assertTrue(message, frame[Frame.DIRTY_TOP] <= bounds[1]);
+        assertTrue(message, frame[Frame.DIRTY_RIGHT] >= bounds[2]);
+        assertTrue(message, frame[Frame.DIRTY_BOTTOM] >= bounds[3]);
+    }
+
+    private void getDrawnBounds(float[] bounds) {
+        bounds[0] = Float.MAX_VALUE;
+        bounds[1] = Float.MAX_VALUE;
+        bounds[2] = -Float.MAX_VALUE;
+        bounds[3] = -Float.MAX_VALUE;
+        if (frame[Frame.PROGRESS_ALPHA] > 0) {
+            float half = PROGRESS_WIDTH / 2f;
+            union(bounds, frame[Frame.PROGRESS_LEFT] - half, frame[Frame.PROGRESS_TOP] - half, frame[Frame.PROGRESS_RIGHT] + half, frame[Frame.PROGRESS_BOTTOM] + half);
+        }
+        if (frame[Frame.RESULT_VISIBLE] != 0 && frame[Frame.CIRCLE_ALPHA] > 0) {
+            union(bounds, frame[Frame.PRIMARY_LEFT], frame[Frame.PRIMARY_TOP], frame[Frame.PRIMARY_RIGHT], frame[Frame.PRIMARY_BOTTOM]);
+            union(bounds, frame[Frame.SECONDARY_LEFT], frame[Frame.SECONDARY_TOP], frame[Frame.SECONDARY_RIGHT], frame[Frame.SECONDARY_BOTTOM]);
+        }
+        if (frame[Frame.RESULT_VISIBLE] != 0 && frame[Frame.TEXT_ALPHA] > 0) {
+            union(bounds, frame[Frame.PRIMARY_X], frame[Frame.POINTS_Y], frame[Frame.PRIMARY_X], frame[Frame.POINTS_Y]);
+        }
+    }
+
+    private static void union(float[] bounds, float left, float top, float right, float bottom) {
+        bounds[0] = Math.min(bounds[0], left);
+        bounds[1] = Math.min(bounds[1], top);
+        bounds[2] = Math.max(bounds[2], right);
+        bounds[3] = Math.max(bounds[3], bottom);
+    }
+
+    private float getDirtyArea() {
+        return (frame[Frame.DIRTY_RIGHT] - frame[Frame.DIRTY_LEFT]) * (frame[Frame.DIRTY_BOTTOM] - frame[Frame.DIRTY_TOP]);
+    }
+}
@@ -0,0 +1,105 @@
+package com.siziksu.acv.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrameGridTest {
+
+    private static final int CELL_SIZE = 100;
+
+    private final FrameGrid grid = new FrameGrid();
+    private final RecordingCanvas canvas = new RecordingCanvas();
+
+    @Before
+    public void setUp() {
+        grid.setColumns(4);
+        grid.setEntryCount(0, 40);
+        assertTrue(grid.setWidth(4 * CELL_SIZE, canvas));
+        grid.setTextHeights(20, 8, 6);
+    }
+
+    @Test
+    public void drawsOnlyCellsNearTheVisibleRect() {
+        grid.draw(16, 0, 0, 4 * CELL_SIZE, 2 * CELL_SIZE, canvas);
+        assertEquals(12, canvas.cells);
+        assertEquals(0, canvas.lastTop % CELL_SIZE);
+        canvas.cells = 0;
+        grid.draw(16, 0, 5 * CELL_SIZE, 4 * CELL_SIZE, 5 * CELL_SIZE + 10, canvas);
+        assertEquals(12, canvas.cells);
+        assertEquals(6 * CELL_SIZE, canvas.lastTop);
+    }
+
+    @Test
+    public void animatesUntilTheVisibleCellsFinish() {
+        for (int i = 0; i < grid.getEntryCount(); i++) {
+            grid.setScore(0, i, 1315, 0);
+        }
+        assertTrue(grid.isAnimating(16, 0, 0, 4 * CELL_SIZE, CELL_SIZE));
+        assertFalse(grid.isAnimating(60_000, 0, 0, 4 * CELL_SIZE, CELL_SIZE));
+        assertTrue(grid.isFinished(60_000));
+        grid.setScore(60_000, 39, 2000, 0);
+        assertFalse(grid.isAnimating(60_016, 0, 0, 4 * CELL_SIZE, CELL_SIZE));
+        assertTrue(grid.isAnimating(60_016, 0, 9 * CELL_SIZE, 4 * CELL_SIZE, 10 * CELL_SIZE));
+        assertFalse(grid.isFinished(60_016));
+    }
+
+    @Test
+    public void emptyGridHasNoCells() {
+        FrameGrid empty = new FrameGrid();
+        assertFalse(empty.setWidth(400, canvas));
+        assertEquals(0, empty.getRowCount());
+    }
+
+    private static final class RecordingCanvas implements FrameGrid.CellCanvas {
+
+        private int cells;
+        private int lastTop;
+
+        @Override
+        public void beginCell(int left, int top) {
+            cells++;
+            lastTop = top;
+        }
+
+        @Override
+        public void endCell() {
+        }
+
+        @Override
+        public void drawArc(int paint, float left, float top, float right, float bottom, float startAngle, float sweepAngle) {
+        }
+
+        @Override
+        public void drawText(int paint, char[] text, int start, int length, float x, float y) {
+        }
+
+        @Override
+        public void drawText(int paint, String text, float x, float y) {
+        }
+
+        @Override
+        public void drawDigitRoll(int paint, DigitRoll roll, float x, float y) {
+        }
+
+        @Override
+        public boolean drawCachedResult() {
+            return false;
+        }
+
+        @Override
+        public void setAlpha(int paint, int alpha) {
+        }
+
+        @Override
+        public void setTextSize(int paint, float size) {
+        }
+
+        @Override
+        public void setAntiAlias(int paint, boolean antiAlias) {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.siziksu.acv.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FramePresenterTest {
+
+    private static final int FRAME_MILLIS = 16;
+    private static final int CYCLES = 50;
+
+    private final FakeHost host = new FakeHost();
+    private final FramePresenter presenter = new FramePresenter(host);
+    private int baseline;
+
+    @Before
+    public void setUp() {
+        presenter.setPaints(new NoOpPaints());
+        baseline = FramePresenter.getRunningTimelineCount();
+    }
+
+    @Test
+    public void resizeAndReplayCyclesKeepOneTimeline() {
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            layout(300 + cycle % 5 * 10);
+            assertRunning(1);
+            presenter.onPointsReceived(1315, 2040);
+            step(20);
+            layout(400 - cycle % 3 * 10);
+            assertRunning(1);
+            presenter.reset();
+            assertRunning(1);
+            step(5);
+            assertRunning(1);
+        }
+        presenter.onPointsReceived(1315, 2040);
+        while (presenter.isTimelineRunning()) {
+            step(1);
+        }
+        assertRunning(0);
+    }
+
+    @Test
+    public void detachStopsTheTimelineAndReattachResumesIt() {
+        layout(330);
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            host.attached = false;
+            presenter.updateSuspension();
+            assertRunning(0);
+            assertTrue(presenter.isTimelineSuspended());
+            layout(330 + cycle % 2 * 10);
+            assertRunning(0);
+            host.attached = true;
+            presenter.updateSuspension();
+            assertRunning(1);
+            assertFalse(presenter.isTimelineSuspended());
+        }
+        presenter.stopTimeline();
+        assertRunning(0);
+    }
+
+    @Test
+    public void resetDropsPointsPostedBeforeIt() {
+        layout(330);
+        presenter.onPointsReceived(1315, 2040);
+        while (presenter.isTimelineRunning()) {
+            step(1);
+        }
+        assertTrue(presenter.postPointsDelta(5, 0));
+        presenter.reset();
+        presenter.consumeMailbox();
+        assertFalse(presenter.getEngine().hasResult());
+        presenter.stopTimeline();
+        assertRunning(0);
+    }
+
+    private void layout(int size) {
+        presenter.setSize(size, size, 0, 0, 0, 0);
+        presenter.setTextHeights(size / 5, size / 5, size / 13, size / 16);
+        presenter.layout();
+        presenter.play();
+    }
+
+    private void step(int frames) {
+        for (int i = 0; i < frames && presenter.isTimelineRunning(); i++) {
+            host.time += FRAME_MILLIS;
+            presenter.onFrame(host.time);
+        }
+    }
+
+    private void assertRunning(int timelines) {
+        assertEquals(timelines, host.liveTimelines);
+        assertEquals(baseline + timelines, FramePresenter.getRunningTimelineCount());
+    }
+
+    private static final class FakeHost implements FramePresenter.Host {
+
+        private boolean attached = true;
+        private int liveTimelines;
+        private long time;
+
+        @Override
+        public boolean canAnimate() {
+            return attached;
+        }
+
+        @Override
+        public boolean isShown() {
+            return attached;
+        }
+
+        @Override
+        public void startTimeline(long clockTime) {
+            liveTimelines++;
+        }
+
+        @Override
+        public void stopTimeline() {
+            liveTimelines--;
+        }
+
+        @Override
+        public void invalidate() {
+        }
+
+        @Override
+        public void invalidate(int left, int top, int right, int bottom) {
+        }
+
+        @Override
+        public void fadeSpinner(int alpha) {
+        }
+
+        @Override
+        public void onAnimationEnd() {
+        }
+
+        @Override
+        public long uptimeMillis() {
+            return time;
+        }
+    }
+
+    private static final class NoOpPaints implements FramePaints {
+
+        @Override
+        public void setAlpha(int paint, int alpha) {
+        }
+
+        @Override
+        public void setTextSize(int paint, float size) {
+        }
+
+        @Override
+        public void setAntiAlias(int paint, boolean antiAlias) {
+        }
+    }
+}
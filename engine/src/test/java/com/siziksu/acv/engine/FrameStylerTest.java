@@ -0,0 +1,82 @@
+package com.siziksu.acv.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameStylerTest {
+
+    private final float[] frame = Frame.create();
+    private final RecordingPaints paints = new RecordingPaints();
+    private final FrameStyler styler = new FrameStyler();
+
+    @Before
+    public void setUp() {
+        styler.setTextSizes(90f, 36f, 30f);
+        styler.applyTextSizes(paints);
+        paints.textSizeCalls = 0;
+        frame[Frame.TEXT_SCALE] = 1f;
+    }
+
+    @Test
+    public void mapsFrameAlphasToPaintSlots() {
+        frame[Frame.PROGRESS_ALPHA] = 55;
+        frame[Frame.CIRCLE_ALPHA] = 200;
+        frame[Frame.TEXT_ALPHA] = 120;
+        styler.apply(frame, paints);
+        assertEquals(55, paints.alphas[FrameCanvas.PROGRESS]);
+        assertEquals(200, paints.alphas[FrameCanvas.PRIMARY_CIRCLE]);
+        assertEquals(200, paints.alphas[FrameCanvas.SECONDARY_CIRCLE]);
+        assertEquals(120, paints.alphas[FrameCanvas.PRIMARY_TEXT]);
+        assertEquals(120, paints.alphas[FrameCanvas.SECONDARY_TEXT]);
+        assertEquals(120, paints.alphas[FrameCanvas.MEDIUM_TEXT]);
+        assertEquals(120, paints.alphas[FrameCanvas.SMALL_TEXT]);
+    }
+
+    @Test
+    public void resizesTextOnlyWhenTheScaleChanges() {
+        styler.apply(frame, paints);
+        styler.apply(frame, paints);
+        assertEquals(0, paints.textSizeCalls);
+        frame[Frame.TEXT_SCALE] = 1.25f;
+        styler.apply(frame, paints);
+        styler.apply(frame, paints);
+        assertEquals(2, paints.textSizeCalls);
+        assertEquals(112.5f, paints.sizes[FrameCanvas.PRIMARY_TEXT], 0f);
+        assertEquals(45f, paints.sizes[FrameCanvas.MEDIUM_TEXT], 0f);
+        assertEquals(90f, paints.sizes[FrameCanvas.SECONDARY_TEXT], 0f);
+    }
+
+    @Test
+    public void applyTextSizesResetsTheScale() {
+        frame[Frame.TEXT_SCALE] = 1.25f;
+        styler.apply(frame, paints);
+        styler.applyTextSizes(paints);
+        assertEquals(1f, styler.getTextScale(), 0f);
+        assertEquals(90f, paints.sizes[FrameCanvas.PRIMARY_TEXT], 0f);
+        assertEquals(30f, paints.sizes[FrameCanvas.SMALL_TEXT], 0f);
+    }
+
+    private static final class RecordingPaints implements FramePaints {
+
+        private final int[] alphas = new int[7];
+        private final float[] sizes = new float[7];
+        private int textSizeCalls;
+
+        @Override
+        public void setAlpha(int paint, int alpha) {
+            alphas[paint] = alpha;
+        }
+
+        @Override
+        public void setTextSize(int paint, float size) {
+            sizes[paint] = size;
+            textSizeCalls++;
+        }
+
+        @Override
+        public void setAntiAlias(int paint, boolean antiAlias) {
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.siziksu.acv.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PointsMailboxTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int DELTAS_PER_PRODUCER = 200_000;
+
+    @Test
+    public void deltasApplyToTheSeededValues() {
+        PointsMailbox mailbox = new PointsMailbox();
+        mailbox.seed(1315, 2040);
+        assertTrue(mailbox.add(5, 0));
+        assertTrue(mailbox.consume());
+        assertEquals(1320, mailbox.getPoints());
+        assertEquals(2040, mailbox.getExtras());
+    }
+
+    @Test
+    public void seedDoesNotScheduleAConsumer() {
+        PointsMailbox mailbox = new PointsMailbox();
+        mailbox.seed(10, 20);
+        assertFalse(mailbox.consume());
+    }
+
+    @Test
+    public void onlyTheFirstPostSchedulesAConsumer() {
+        PointsMailbox mailbox = new PointsMailbox();
+        assertTrue(mailbox.post(1, 1));
+        assertFalse(mailbox.post(2, 2));
+        assertFalse(mailbox.add(1, 1));
+        assertTrue(mailbox.consume());
+        assertEquals(3, mailbox.getPoints());
+        assertEquals(3, mailbox.getExtras());
+        assertFalse(mailbox.consume());
+        assertTrue(mailbox.add(1, 0));
+    }
+
+    @Test
+    public void concurrentDeltasAreNeitherLostNorTorn() throws InterruptedException {
+        PointsMailbox mailbox = new PointsMailbox();
+        mailbox.seed(1000, 2000);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+        AtomicReference<String> failure = new AtomicReference<>();
+        for (int i = 0; i < PRODUCERS; i++) {
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < DELTAS_PER_PRODUCER; j++) {
+                        mailbox.add(1, 2);
+                    }
+                } catch (InterruptedException e) {
+                    failure.compareAndSet(null, "producer interrupted");
+                } finally {
+                    done.countDown();
+                }
+            });
+            producer.start();
+        }
+        AtomicBoolean finished = new AtomicBoolean();
+        int[] consumed = new int[1];
+        Thread consumer = new Thread(() -> {
+            int lastPoints = 1000;
+            while (true) {
+                boolean last = finished.get();
+                if (mailbox.consume()) {
+                    int points = mailbox.getPoints();
+                    int extras = mailbox.getExtras();
+                    if (extras - 2000 != (points - 1000) * 2) {
+                        failure.compareAndSet(null, "torn snapshot " + points + "/" + extras);
+                    }
+                    if (points < lastPoints) {
+                        failure.compareAndSet(null, "points went back from " + lastPoints + " to " + points);
+                    }
+                    lastPoints = points;
+                    consumed[0]++;
+                }
+                if (last) {
+                    break;
+                }
+            }
+        });
+        consumer.start();
+        start.countDown();
+        done.await();
+        finished.set(true);
+        consumer.join();
+        assertNull(failure.get());
+        assertTrue(consumed[0] > 0);
+        mailbox.consume();
+        int total = PRODUCERS * DELTAS_PER_PRODUCER;
+        assertEquals(1000 + total, mailbox.getPoints());
+        assertEquals(2000 + total * 2, mailbox.getExtras());
+    }
+}
@@ -0,0 +1,102 @@
+package com.siziksu.acv.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QualityGovernorTest {
+
+    private static final long ON_BUDGET = AnimationMetrics.FRAME_INTERVAL_NANOS;
+    private static final long OVER_BUDGET = AnimationMetrics.FRAME_INTERVAL_NANOS * 2;
+    private static final long NEAR_BUDGET = AnimationMetrics.FRAME_INTERVAL_NANOS * 13 / 10;
+
+    private QualityGovernor governor;
+
+    @Before
+    public void setUp() {
+        governor = new QualityGovernor();
+    }
+
+    @Test
+    public void staysAtFullQualityOnBudget() {
+        assertEquals(0, record(ON_BUDGET, 1000));
+        assertEquals(QualityGovernor.LEVEL_FULL, governor.getLevel());
+    }
+
+    @Test
+    public void degradesOneLevelAfterSustainedOverBudget() {
+        assertEquals(0, record(OVER_BUDGET, 29));
+        assertTrue(governor.record(OVER_BUDGET));
+        assertEquals(QualityGovernor.LEVEL_REDUCED_FRAME_RATE, governor.getLevel());
+    }
+
+    @Test
+    public void degradesNoFurtherThanTheLastLevel() {
+        assertEquals(3, record(OVER_BUDGET, 1000));
+        assertEquals(QualityGovernor.LEVEL_NO_SCALE_PULSE, governor.getLevel());
+    }
+
+    @Test
+    public void ignoresASingleSpike() {
+        record(ON_BUDGET, 100);
+        governor.record(OVER_BUDGET * 4);
+        assertEquals(0, record(ON_BUDGET, 100));
+        assertEquals(QualityGovernor.LEVEL_FULL, governor.getLevel());
+    }
+
+    @Test
+    public void recoversOneLevelAfterSustainedUnderBudget() {
+        record(OVER_BUDGET, 60);
+        assertEquals(QualityGovernor.LEVEL_NO_ANTI_ALIAS, governor.getLevel());
+        int changes = 0;
+        int frames = 0;
+        while (changes == 0) {
+            if (governor.record(ON_BUDGET)) {
+                changes++;
+            }
+            frames++;
+        }
+        assertEquals(QualityGovernor.LEVEL_REDUCED_FRAME_RATE, governor.getLevel());
+        assertTrue(frames >= 120);
+        assertEquals(1, record(ON_BUDGET, 120));
+        assertEquals(QualityGovernor.LEVEL_FULL, governor.getLevel());
+    }
+
+    @Test
+    public void holdsTheLevelBetweenThresholds() {
+        record(OVER_BUDGET, 30);
+        assertEquals(0, record(NEAR_BUDGET, 1000));
+        assertEquals(QualityGovernor.LEVEL_REDUCED_FRAME_RATE, governor.getLevel());
+    }
+
+    @Test
+    public void followsTheBudget() {
+        governor.setBudget(OVER_BUDGET);
+        assertEquals(0, record(OVER_BUDGET, 1000));
+        assertEquals(QualityGovernor.LEVEL_FULL, governor.getLevel());
+    }
+
+    @Test
+    public void restartKeepsTheLevelAndResetDropsIt() {
+        record(OVER_BUDGET, 30);
+        governor.restart();
+        assertEquals(QualityGovernor.LEVEL_REDUCED_FRAME_RATE, governor.getLevel());
+        assertEquals(0, governor.getAverageFrameInterval());
+        assertFalse(governor.record(OVER_BUDGET));
+        governor.reset();
+        assertEquals(QualityGovernor.LEVEL_FULL, governor.getLevel());
+    }
+
+    private int record(long intervalNanos, int frames) {
+        int changes = 0;
+        for (int i = 0; i < frames; i++) {
+            if (governor.record(intervalNanos)) {
+                changes++;
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,13 @@
+package com.siziksu.acv.headless;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+public interface FrameSink {
+
+    void begin(int width, int height, int frameCount) throws IOException;
+
+    void writeFrame(int index, BufferedImage image) throws IOException;
+
+    void finish() throws IOException;
+}
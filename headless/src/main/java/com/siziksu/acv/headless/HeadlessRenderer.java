@@ -0,0 +1,239 @@
+package com.siziksu.acv.headless;
+
+import com.siziksu.acv.engine.DigitBuffer;
+import com.siziksu.acv.engine.Frame;
+import com.siziksu.acv.engine.FrameCanvas;
+import com.siziksu.acv.engine.FrameDrawer;
+import com.siziksu.acv.engine.FrameEngine;
+import com.siziksu.acv.engine.FrameStyler;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+public final class HeadlessRenderer {
+
+    private final FrameEngine engine = new FrameEngine();
+    private final float[] frame = Frame.create();
+    private final DigitBuffer totalDigits = new DigitBuffer();
+    private final DigitBuffer extrasDigits = new DigitBuffer();
+    private final FrameStyler styler = new FrameStyler();
+    private final Java2DFrameCanvas canvas = new Java2DFrameCanvas();
+
+    private int width = 330;
+    private int height = 330;
+    private int margin;
+    private int framesPerSecond = 30;
+    private long resultDelay = 1000;
+    private int points = 1315;
+    private int extras = 2040;
+    private boolean withExtras = true;
+    private int background = 0x00000000;
+
+    private int progressWidth = 30;
+    private int progressColor = 0xFFFFFFFF;
+    private int primaryColor = 0xFFFFFFFF;
+    private int secondaryColor = 0xFF503282;
+    private int primaryTextColor = 0xFF503282;
+    private int secondaryTextColor = 0xFFFFFFFF;
+
+    public HeadlessRenderer() {
+        engine.setProgressWidth(progressWidth);
+        engine.setCirclePercentSeparation(90);
+        engine.setScaleValue(1.25f);
+        engine.setScaleDuration(200);
+    }
+
+    public void setSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public void setMargin(int margin) {
+        this.margin = Math.max(0, margin);
+    }
+
+    public void setFramesPerSecond(int framesPerSecond) {
+        this.framesPerSecond = Math.max(1, framesPerSecond);
+    }
+
+    public void setResultDelay(long resultDelay) {
+        this.resultDelay = resultDelay;
+    }
+
+    public void setPoints(int points) {
+        this.points = points;
+        this.extras = 0;
+        this.withExtras = false;
+    }
+
+    public void setPoints(int points, int extras) {
+        this.points = points;
+        this.extras = extras;
+        this.withExtras = true;
+    }
+
+    public void setBackground(int background) {
+        this.background = background;
+    }
+
+    public void setProgressWidth(int progressWidth) {
+        this.progressWidth = progressWidth;
+        engine.setProgressWidth(progressWidth);
+    }
+
+    public void setProgressDuration(int progressDuration) {
+        engine.setProgressDuration(progressDuration);
+    }
+
+    public void setCirclePercentSeparation(int circlePercentSeparation) {
+        engine.setCirclePercentSeparation(circlePercentSeparation);
+    }
+
+    public void setScaleValue(float scaleValue) {
+        engine.setScaleValue(scaleValue);
+    }
+
+    public void setScaleDuration(int scaleDuration) {
+        engine.setScaleDuration(scaleDuration);
+    }
+
+    public void setColors(int progressColor, int primaryColor, int secondaryColor, int primaryTextColor, int secondaryTextColor) {
+        this.progressColor = progressColor;
+        this.primaryColor = primaryColor;
+        this.secondaryColor = secondaryColor;
+        this.primaryTextColor = primaryTextColor;
+        this.secondaryTextColor = secondaryTextColor;
+    }
+
+    public int getFrameCount() {
+        prepare();
+        int index = 0;
+        while (advance(index)) {
+            index++;
+        }
+        return index + 1;
+    }
+
+    public int render(FrameSink sink) throws IOException {
+        int frameCount = getFrameCount();
+        prepare();
+        BufferedImage image = new BufferedImage(width + margin * 2, height + margin * 2, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            canvas.setGraphics(graphics);
+            sink.begin(image.getWidth(), image.getHeight(), frameCount);
+            for (int index = 0; index < frameCount; index++) {
+                advance(index);
+                clear(graphics, image);
+                graphics.translate(margin, margin);
+                FrameDrawer.draw(frame, totalDigits, extrasDigits, canvas);
+                graphics.translate(-margin, -margin);
+                sink.writeFrame(index, image);
+            }
+            sink.finish();
+        } finally {
+            graphics.dispose();
+        }
+        return frameCount;
+    }
+
+    private void prepare() {
+        engine.setSize(width, height, 0, 0, 0, 0);
+        canvas.setStrokeWidth(progressWidth);
+        canvas.setColor(FrameCanvas.PROGRESS, progressColor);
+        canvas.setColor(FrameCanvas.PRIMARY_CIRCLE, primaryColor);
+        canvas.setColor(FrameCanvas.SECONDARY_CIRCLE, secondaryColor);
+        canvas.setColor(FrameCanvas.PRIMARY_TEXT, primaryTextColor);
+        canvas.setColor(FrameCanvas.SECONDARY_TEXT, secondaryTextColor);
+        canvas.setColor(FrameCanvas.MEDIUM_TEXT, primaryTextColor);
+        canvas.setColor(FrameCanvas.SMALL_TEXT, secondaryTextColor);
+        styler.setTextSizes(engine.getNormalTextSize(), engine.getMediumTextSize(), engine.getSmallTextSize());
+        styler.applyTextSizes(canvas);
+        totalDigits.set(0);
+        extrasDigits.set(0);
+        engine.setTextHeights(
+                canvas.measureHeight(FrameCanvas.PRIMARY_TEXT, String.valueOf(totalDigits.getValue())),
+                canvas.measureHeight(FrameCanvas.SECONDARY_TEXT, String.valueOf(extrasDigits.getValue())),
+                canvas.measureHeight(FrameCanvas.MEDIUM_TEXT, FrameDrawer.POINTS_TEXT),
+                canvas.measureHeight(FrameCanvas.SMALL_TEXT, FrameDrawer.PLUS_TEXT)
+        );
+        engine.start(0);
+    }
+
+    private boolean advance(int index) {
+        long time = index * 1000L / framesPerSecond;
+        if (!engine.hasResult() && time >= resultDelay) {
+            engine.setResult(resultDelay, points, extras, withExtras);
+        }
+        engine.compute(time, frame);
+        styler.apply(frame, canvas);
+        totalDigits.set(engine.getTotal());
+        extrasDigits.set(engine.getExtras());
+        return !engine.isFinished(time);
+    }
+
+    private void clear(Graphics2D graphics, BufferedImage image) {
+        graphics.setComposite(AlphaComposite.Src);
+        graphics.setColor(new Color(background, true));
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.setComposite(AlphaComposite.SrcOver);
+    }
+
+    public static void main(String[] args) throws IOException {
+        HeadlessRenderer renderer = new HeadlessRenderer();
+        File output = new File("frames");
+        File sheet = null;
+        int columns = 10;
+        int points = renderer.points;
+        int extras = renderer.extras;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--size":
+                    renderer.setSize(Integer.parseInt(value), Integer.parseInt(value));
+                    break;
+                case "--margin":
+                    renderer.setMargin(Integer.parseInt(value));
+                    break;
+                case "--fps":
+                    renderer.setFramesPerSecond(Integer.parseInt(value));
+                    break;
+                case "--delay":
+                    renderer.setResultDelay(Long.parseLong(value));
+                    break;
+                case "--points":
+                    points = Integer.parseInt(value);
+                    break;
+                case "--extras":
+                    extras = Integer.parseInt(value);
+                    break;
+                case "--background":
+                    renderer.setBackground((int) Long.parseLong(value, 16));
+                    break;
+                case "--out":
+                    output = new File(value);
+                    break;
+                case "--sheet":
+                    sheet = new File(value);
+                    break;
+                case "--columns":
+                    columns = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (extras != 0) {
+            renderer.setPoints(points, extras);
+        } else {
+            renderer.setPoints(points);
+        }
+        FrameSink sink = sheet != null ? new SpriteSheetSink(sheet, columns) : new PngSequenceSink(output, "frame_");
+        int frames = renderer.render(sink);
+        System.out.println("Rendered " + frames + " frames to " + (sheet != null ? sheet : output));
+    }
+}
@@ -0,0 +1,130 @@
+package com.siziksu.acv.headless;
+
+import com.siziksu.acv.engine.DigitBuffer;
+import com.siziksu.acv.engine.DigitRoll;
+import com.siziksu.acv.engine.FrameCanvas;
+import com.siziksu.acv.engine.FramePaints;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+final class Java2DFrameCanvas implements FrameCanvas, FramePaints {
+
+    private static final int PAINT_COUNT = 7;
+    private static final Font BASE_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 1);
+    private static final FontRenderContext FONT_CONTEXT = new FontRenderContext(null, true, true);
+
+    private final int[] colors = new int[PAINT_COUNT];
+    private final int[] alphas = new int[PAINT_COUNT];
+    private final Font[] fonts = new Font[PAINT_COUNT];
+    private final Color[] resolvedColors = new Color[PAINT_COUNT];
+    private final boolean[] antiAliased = new boolean[PAINT_COUNT];
+    private final Arc2D.Float arc = new Arc2D.Float();
+    private final DigitBuffer rollDigits = new DigitBuffer();
+    private BasicStroke progressStroke = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER);
+    private Graphics2D graphics;
+
+    Java2DFrameCanvas() {
+        Arrays.fill(antiAliased, true);
+    }
+
+    void setGraphics(Graphics2D graphics) {
+        this.graphics = graphics;
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+    }
+
+    void setColor(int paint, int color) {
+        colors[paint] = color;
+        resolvedColors[paint] = null;
+    }
+
+    @Override
+    public void setAlpha(int paint, int alpha) {
+        if (alphas[paint] != alpha) {
+            alphas[paint] = alpha;
+            resolvedColors[paint] = null;
+        }
+    }
+
+    @Override
+    public void setTextSize(int paint, float size) {
+        if (fonts[paint] == null || fonts[paint].getSize2D() != size) {
+            fonts[paint] = BASE_FONT.deriveFont(size);
+        }
+    }
+
+    @Override
+    public void setAntiAlias(int paint, boolean antiAlias) {
+        antiAliased[paint] = antiAlias;
+    }
+
+    void setStrokeWidth(float width) {
+        progressStroke = new BasicStroke(width, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER);
+    }
+
+    int measureHeight(int paint, String text) {
+        Rectangle2D bounds = fonts[paint].createGlyphVector(FONT_CONTEXT, text).getVisualBounds();
+        return (int) Math.ceil(bounds.getHeight());
+    }
+
+    @Override
+    public void drawArc(int paint, float left, float top, float right, float bottom, float startAngle, float sweepAngle) {
+        if (alphas[paint] == 0) {
+            return;
+        }
+        graphics.setColor(getColor(paint));
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antiAliased[paint] ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        arc.setArc(left, top, right - left, bottom - top, -startAngle, -sweepAngle, Arc2D.OPEN);
+        if (paint == PROGRESS) {
+            graphics.setStroke(progressStroke);
+            graphics.draw(arc);
+        } else {
+            graphics.fill(arc);
+        }
+    }
+
+    @Override
+    public void drawText(int paint, char[] text, int start, int length, float x, float y) {
+        drawText(paint, new String(text, start, length), x, y);
+    }
+
+    @Override
+    public void drawText(int paint, String text, float x, float y) {
+        if (alphas[paint] == 0) {
+            return;
+        }
+        graphics.setColor(getColor(paint));
+        graphics.setFont(fonts[paint]);
+        FontMetrics metrics = graphics.getFontMetrics();
+        graphics.drawString(text, x - metrics.stringWidth(text) / 2f, y);
+    }
+
+    @Override
+    public void drawDigitRoll(int paint, DigitRoll roll, float x, float y) {
+        rollDigits.set(roll.getValue());
+        drawText(paint, rollDigits.getChars(), rollDigits.getStart(), rollDigits.getLength(), x, y);
+    }
+
+    @Override
+    public boolean drawCachedResult() {
+        return false;
+    }
+
+    private Color getColor(int paint) {
+        if (resolvedColors[paint] == null) {
+            resolvedColors[paint] = new Color((alphas[paint] << 24) | (colors[paint] & 0xFFFFFF), true);
+        }
+        return resolvedColors[paint];
+    }
+}
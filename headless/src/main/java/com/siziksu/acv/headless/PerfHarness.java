@@ -0,0 +1,349 @@
+package com.siziksu.acv.headless;
+
+import com.siziksu.acv.engine.DigitRoll;
+import com.siziksu.acv.engine.Frame;
+import com.siziksu.acv.engine.FrameCanvas;
+import com.siziksu.acv.engine.FrameEngine;
+import com.siziksu.acv.engine.FramePaints;
+import com.siziksu.acv.engine.FramePresenter;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class PerfHarness {
+
+    private static final int SIZE = 330;
+    private static final int PADDING = 24;
+    private static final int MEASURED_RUNS = 3;
+    private static final int FRAMES_PER_SECOND = 60;
+    private static final long RESULT_TIME = 1000;
+    private static final String HEADER = "# frame phase drawCalls cacheBlits rollColumns allocatedBytes dirtyArea fullInvalidation";
+
+    private static final Scenario[] SCENARIOS = {
+            new Scenario("points", 0, 1315, 0, false, 0, 0, 0, false, false),
+            new Scenario("points_extras", 0, 1315, 2040, true, 0, 0, 0, false, false),
+            new Scenario("points_extras_keyframes", 60, 1315, 2040, true, 0, 0, 0, false, false),
+            new Scenario("counter_update", 0, 1315, 2040, true, 6000, 1500, 2500, false, false),
+            new Scenario("result_cache", 0, 1315, 2040, true, 6000, 1500, 2500, true, false),
+            new Scenario("digit_roll", 0, 1315, 2040, true, 6000, 1500, 2500, false, true)
+    };
+
+    private final HarnessHost host = new HarnessHost();
+    private final CountingCanvas canvas = new CountingCanvas();
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private int[] phases;
+    private int[] drawCalls;
+    private int[] cacheBlits;
+    private int[] rollColumns;
+    private long[] allocatedBytes;
+    private int[] dirtyAreas;
+    private boolean[] fullInvalidations;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: PerfHarness <baselineDir> [--update]");
+        }
+        File directory = new File(args[0]);
+        boolean update = args.length > 1 && "--update".equals(args[1]);
+        List<String> regressions = new ArrayList<>();
+        for (Scenario scenario : SCENARIOS) {
+            PerfHarness harness = new PerfHarness();
+            int frames = harness.run(scenario);
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                harness.run(scenario);
+            }
+            File baseline = new File(directory, scenario.name + ".txt");
+            if (update) {
+                harness.write(baseline, frames);
+                System.out.println("Updated " + baseline);
+            } else {
+                harness.compare(scenario.name, baseline, frames, regressions);
+            }
+        }
+        if (!regressions.isEmpty()) {
+            for (String regression : regressions) {
+                System.err.println(regression);
+            }
+            System.err.println(regressions.size() + " performance regressions. Run ./gradlew :headless:perfBaseline if they are intended.");
+            System.exit(1);
+        }
+    }
+
+    private int run(Scenario scenario) {
+        FramePresenter presenter = new FramePresenter(host);
+        FrameEngine engine = presenter.getEngine();
+        float[] frame = presenter.getFrame();
+        engine.setProgressWidth(30);
+        engine.setCirclePercentSeparation(90);
+        engine.setScaleValue(1.25f);
+        engine.setScaleDuration(200);
+        engine.setKeyframeRate(scenario.keyframeRate);
+        presenter.setPaints(canvas);
+        presenter.setResultCacheEnabled(scenario.resultCache);
+        presenter.setDigitRollEnabled(scenario.digitRoll);
+        host.time = 0;
+        presenter.setSize(SIZE, SIZE, PADDING, PADDING, PADDING, PADDING);
+        presenter.setTextHeights(70, 70, 25, 20);
+        presenter.layout();
+        presenter.play();
+        boolean recording = phases != null;
+        long threadId = Thread.currentThread().getId();
+        long overhead = measureOverhead(threadId);
+        int index = 0;
+        boolean running = true;
+        while (running) {
+            long time = index * 1000L / FRAMES_PER_SECOND;
+            host.time = time;
+            host.clearInvalidation();
+            canvas.clear();
+            long allocated = threads.getThreadAllocatedBytes(threadId);
+            deliver(presenter, scenario, time);
+            if (presenter.isTimelineRunning() && presenter.onFrame(time)) {
+                presenter.draw(canvas);
+            }
+            allocated = threads.getThreadAllocatedBytes(threadId) - allocated - overhead;
+            if (recording && index < phases.length) {
+                phases[index] = (int) frame[Frame.PHASE];
+                drawCalls[index] = canvas.drawCalls;
+                cacheBlits[index] = canvas.cacheBlits;
+                rollColumns[index] = canvas.rollColumns;
+                allocatedBytes[index] = Math.min(allocatedBytes[index], Math.max(0, allocated));
+                dirtyAreas[index] = host.dirtyArea;
+                fullInvalidations[index] = host.fullInvalidation;
+            }
+            running = presenter.isTimelineRunning() || time < scenario.updateTime;
+            index++;
+        }
+        if (!recording) {
+            phases = new int[index];
+            drawCalls = new int[index];
+            cacheBlits = new int[index];
+            rollColumns = new int[index];
+            allocatedBytes = new long[index];
+            Arrays.fill(allocatedBytes, Long.MAX_VALUE);
+            dirtyAreas = new int[index];
+            fullInvalidations = new boolean[index];
+        }
+        return index;
+    }
+
+    private void deliver(FramePresenter presenter, Scenario scenario, long time) {
+        if (!presenter.getEngine().hasResult() && time >= RESULT_TIME) {
+            if (scenario.withExtras) {
+                presenter.onPointsReceived(scenario.points, scenario.extras);
+            } else {
+                presenter.onPointsReceived(scenario.points);
+            }
+        }
+        if (scenario.updateTime > 0 && time == scenario.updateTime) {
+            presenter.updatePoints(scenario.updatePoints, scenario.updateExtras);
+        }
+    }
+
+    private long measureOverhead(long threadId) {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long allocated = threads.getThreadAllocatedBytes(threadId);
+            overhead = Math.min(overhead, threads.getThreadAllocatedBytes(threadId) - allocated);
+        }
+        return overhead;
+    }
+
+    private void write(File file, int frames) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (int i = 0; i < frames; i++) {
+            lines.add(i + " " + phases[i] + " " + drawCalls[i] + " " + cacheBlits[i] + " " + rollColumns[i] + " " + allocatedBytes[i] + " " + dirtyAreas[i] + " " + (fullInvalidations[i] ? 1 : 0));
+        }
+        File directory = file.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    private void compare(String name, File file, int frames, List<String> regressions) throws IOException {
+        if (!file.isFile()) {
+            regressions.add(name + ": missing baseline " + file);
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                lines.add(line);
+            }
+        }
+        if (lines.size() != frames) {
+            regressions.add(name + ": timeline has " + frames + " frames, baseline has " + lines.size());
+            return;
+        }
+        for (int i = 0; i < frames; i++) {
+            String[] values = lines.get(i).trim().split("\\s+");
+            int baselineDrawCalls = Integer.parseInt(values[2]);
+            int baselineCacheBlits = Integer.parseInt(values[3]);
+            int baselineRollColumns = Integer.parseInt(values[4]);
+            long baselineAllocated = Long.parseLong(values[5]);
+            int baselineDirtyArea = Integer.parseInt(values[6]);
+            boolean baselineFull = "1".equals(values[7]);
+            if (drawCalls[i] > baselineDrawCalls) {
+                regressions.add(name + " frame " + i + ": " + drawCalls[i] + " draw calls, baseline " + baselineDrawCalls);
+            }
+            if (cacheBlits[i] < baselineCacheBlits) {
+                regressions.add(name + " frame " + i + ": result cache not used, baseline " + baselineCacheBlits + " blits");
+            }
+            if (rollColumns[i] > baselineRollColumns) {
+                regressions.add(name + " frame " + i + ": " + rollColumns[i] + " digit roll columns, baseline " + baselineRollColumns);
+            }
+            if (allocatedBytes[i] > baselineAllocated) {
+                regressions.add(name + " frame " + i + ": " + allocatedBytes[i] + " bytes allocated, baseline " + baselineAllocated);
+            }
+            if (fullInvalidations[i] && !baselineFull) {
+                regressions.add(name + " frame " + i + ": full view invalidation, baseline " + baselineDirtyArea + " px");
+            } else if (dirtyAreas[i] > baselineDirtyArea) {
+                regressions.add(name + " frame " + i + ": " + dirtyAreas[i] + " px invalidated, baseline " + baselineDirtyArea + " px");
+            }
+        }
+    }
+
+    private static final class Scenario {
+
+        private final String name;
+        private final int keyframeRate;
+        private final int points;
+        private final int extras;
+        private final boolean withExtras;
+        private final long updateTime;
+        private final int updatePoints;
+        private final int updateExtras;
+        private final boolean resultCache;
+        private final boolean digitRoll;
+
+        private Scenario(String name, int keyframeRate, int points, int extras, boolean withExtras, long updateTime, int updatePoints, int updateExtras, boolean resultCache, boolean digitRoll) {
+            this.name = name;
+            this.keyframeRate = keyframeRate;
+            this.points = points;
+            this.extras = extras;
+            this.withExtras = withExtras;
+            this.updateTime = updateTime;
+            this.updatePoints = updatePoints;
+            this.updateExtras = updateExtras;
+            this.resultCache = resultCache;
+            this.digitRoll = digitRoll;
+        }
+    }
+
+    private static final class HarnessHost implements FramePresenter.Host {
+
+        private long time;
+        private int dirtyArea;
+        private boolean fullInvalidation;
+
+        private void clearInvalidation() {
+            dirtyArea = 0;
+            fullInvalidation = false;
+        }
+
+        @Override
+        public boolean canAnimate() {
+            return true;
+        }
+
+        @Override
+        public boolean isShown() {
+            return true;
+        }
+
+        @Override
+        public void startTimeline(long clockTime) {
+        }
+
+        @Override
+        public void stopTimeline() {
+        }
+
+        @Override
+        public void invalidate() {
+            dirtyArea = SIZE * SIZE;
+            fullInvalidation = true;
+        }
+
+        @Override
+        public void invalidate(int left, int top, int right, int bottom) {
+            dirtyArea = Math.max(0, right - left) * Math.max(0, bottom - top);
+            fullInvalidation = left <= 0 && top <= 0 && right >= SIZE && bottom >= SIZE;
+        }
+
+        @Override
+        public void fadeSpinner(int alpha) {
+        }
+
+        @Override
+        public void onAnimationEnd() {
+        }
+
+        @Override
+        public long uptimeMillis() {
+            return time;
+        }
+    }
+
+    private static final class CountingCanvas implements FrameCanvas, FramePaints {
+
+        private int drawCalls;
+        private int cacheBlits;
+        private int rollColumns;
+
+        private void clear() {
+            drawCalls = 0;
+            cacheBlits = 0;
+            rollColumns = 0;
+        }
+
+        @Override
+        public void drawArc(int paint, float left, float top, float right, float bottom, float startAngle, float sweepAngle) {
+            drawCalls++;
+        }
+
+        @Override
+        public void drawText(int paint, char[] text, int start, int length, float x, float y) {
+            drawCalls++;
+        }
+
+        @Override
+        public void drawText(int paint, String text, float x, float y) {
+            drawCalls++;
+        }
+
+        @Override
+        public void drawDigitRoll(int paint, DigitRoll roll, float x, float y) {
+            drawCalls += roll.getColumnCount();
+            rollColumns += roll.getColumnCount();
+        }
+
+        @Override
+        public boolean drawCachedResult() {
+            drawCalls++;
+            cacheBlits++;
+            return true;
+        }
+
+        @Override
+        public void setAlpha(int paint, int alpha) {
+        }
+
+        @Override
+        public void setTextSize(int paint, float size) {
+        }
+
+        @Override
+        public void setAntiAlias(int paint, boolean antiAlias) {
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.siziksu.acv.headless;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+public final class PngSequenceSink implements FrameSink {
+
+    private final File directory;
+    private final String prefix;
+    private int digits;
+
+    public PngSequenceSink(File directory, String prefix) {
+        this.directory = directory;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public void begin(int width, int height, int frameCount) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        digits = Math.max(4, String.valueOf(frameCount - 1).length());
+    }
+
+    @Override
+    public void writeFrame(int index, BufferedImage image) throws IOException {
+        String name = String.format("%s%0" + digits + "d.png", prefix, index);
+        ImageIO.write(image, "png", new File(directory, name));
+    }
+
+    @Override
+    public void finish() {
+    }
+}
@@ -0,0 +1,135 @@
+package com.siziksu.acv.headless;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+final class PngStreamWriter implements Closeable {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int BIT_DEPTH = 8;
+    private static final int COLOR_TYPE_RGBA = 6;
+
+    private final DataOutputStream out;
+    private final CRC32 crc = new CRC32();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private DeflaterOutputStream data;
+    private int width;
+    private int height;
+    private int rowsWritten;
+    private int[] pixels;
+    private byte[] scanline;
+
+    PngStreamWriter(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    void begin(int width, int height) throws IOException {
+        this.width = width;
+        this.height = height;
+        rowsWritten = 0;
+        pixels = new int[width];
+        scanline = new byte[1 + width * 4];
+        out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = BIT_DEPTH;
+        header[9] = COLOR_TYPE_RGBA;
+        writeChunk("IHDR", header, 0, header.length);
+        data = new DeflaterOutputStream(new ImageDataStream(), deflater, CHUNK_SIZE);
+    }
+
+    void writeRows(BufferedImage image) throws IOException {
+        int rows = Math.min(image.getHeight(), height - rowsWritten);
+        for (int y = 0; y < rows; y++) {
+            image.getRGB(0, y, width, 1, pixels, 0, width);
+            for (int x = 0, i = 1; x < width; x++) {
+                int argb = pixels[x];
+                scanline[i++] = (byte) (argb >> 16);
+                scanline[i++] = (byte) (argb >> 8);
+                scanline[i++] = (byte) argb;
+                scanline[i++] = (byte) (argb >>> 24);
+            }
+            data.write(scanline);
+        }
+        rowsWritten += rows;
+    }
+
+    void finish() throws IOException {
+        if (rowsWritten != height) {
+            throw new IOException("Expected " + height + " rows, got " + rowsWritten);
+        }
+        data.finish();
+        data.flush();
+        writeChunk("IEND", new byte[0], 0, 0);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        out.close();
+    }
+
+    private void writeChunk(String type, byte[] bytes, int offset, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        crc.reset();
+        crc.update(typeBytes);
+        crc.update(bytes, offset, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(bytes, offset, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private final class ImageDataStream extends OutputStream {
+
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int count;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flush();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (count == buffer.length) {
+                    flush();
+                }
+                int copied = Math.min(length, buffer.length - count);
+                System.arraycopy(bytes, offset, buffer, count, copied);
+                count += copied;
+                offset += copied;
+                length -= copied;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (count > 0) {
+                writeChunk("IDAT", buffer, 0, count);
+                count = 0;
+            }
+        }
+    }
+}
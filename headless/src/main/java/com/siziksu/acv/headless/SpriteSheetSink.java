@@ -0,0 +1,71 @@
+package com.siziksu.acv.headless;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+public final class SpriteSheetSink implements FrameSink {
+
+    private final File file;
+    private final int columns;
+    private BufferedImage row;
+    private Graphics2D rowGraphics;
+    private PngStreamWriter writer;
+    private int frameWidth;
+    private int rowFrames;
+
+    public SpriteSheetSink(File file, int columns) {
+        this.file = file;
+        this.columns = Math.max(1, columns);
+    }
+
+    @Override
+    public void begin(int width, int height, int frameCount) throws IOException {
+        int sheetColumns = Math.min(columns, frameCount);
+        int rows = (frameCount + sheetColumns - 1) / sheetColumns;
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        frameWidth = width;
+        rowFrames = 0;
+        row = new BufferedImage(width * sheetColumns, height, BufferedImage.TYPE_INT_ARGB);
+        rowGraphics = row.createGraphics();
+        writer = new PngStreamWriter(new BufferedOutputStream(new FileOutputStream(file)));
+        writer.begin(row.getWidth(), height * rows);
+    }
+
+    @Override
+    public void writeFrame(int index, BufferedImage image) throws IOException {
+        rowGraphics.drawImage(image, rowFrames * frameWidth, 0, null);
+        rowFrames++;
+        if (rowFrames * frameWidth == row.getWidth()) {
+            flushRow();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        try {
+            if (rowFrames > 0) {
+                flushRow();
+            }
+            writer.finish();
+        } finally {
+            rowGraphics.dispose();
+            writer.close();
+        }
+    }
+
+    private void flushRow() throws IOException {
+        writer.writeRows(row);
+        rowGraphics.setComposite(AlphaComposite.Clear);
+        rowGraphics.fillRect(0, 0, row.getWidth(), row.getHeight());
+        rowGraphics.setComposite(AlphaComposite.SrcOver);
+        rowFrames = 0;
+    }
+}